@@ -0,0 +1,40 @@
+package no.acntech.hexapetclinic.app.config;
+
+import java.util.concurrent.Executor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration of asynchronous processing in the application layer.
+ * <p>
+ * Provides the bounded executor that enhances pet descriptions after registration. Its worker threads are virtual threads when the
+ * application runs in virtual-thread mode ({@code spring.threads.virtual.enabled}), like the request threads of the servlet container,
+ * since the work consists of waiting for the enhancer. The number of concurrent enhancements and the number of waiting ones are both
+ * capped regardless of the thread type, see {@link PetDescriptionEnhancementProperties}. Enhancements are rejected with a
+ * {@link org.springframework.core.task.TaskRejectedException} when the queue is full, rather than blocking the caller, and the
+ * submitter decides what becomes of them (see {@link no.acntech.hexapetclinic.app.event.PetRegisteredEventListener}).
+ */
+@Configuration
+public class AsyncConfig extends BaseAppConfig {
+
+  public static final String PET_DESCRIPTION_ENHANCEMENT_EXECUTOR = "petDescriptionEnhancementExecutor";
+
+  private static final String PET_DESCRIPTION_ENHANCEMENT_THREAD_PREFIX = "pet-descr-";
+
+  @Bean(name = PET_DESCRIPTION_ENHANCEMENT_EXECUTOR)
+  public Executor petDescriptionEnhancementExecutor(PetDescriptionEnhancementProperties properties, Environment environment) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix(PET_DESCRIPTION_ENHANCEMENT_THREAD_PREFIX);
+    executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+    executor.setCorePoolSize(properties.maxConcurrency());
+    executor.setMaxPoolSize(properties.maxConcurrency());
+    executor.setQueueCapacity(properties.queueCapacity());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(properties.shutdownTimeoutSeconds());
+    log.debug("Pet description enhancement executor created: {}", properties);
+    return executor;
+  }
+}
@@ -0,0 +1,20 @@
+package no.acntech.hexapetclinic.app.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the asynchronous enhancement of pet descriptions.
+ *
+ * @param maxConcurrency         the maximum number of descriptions enhanced concurrently
+ * @param queueCapacity          the maximum number of enhancements waiting for a free worker
+ * @param shutdownTimeoutSeconds the number of seconds to wait for running enhancements on shutdown
+ */
+@ConfigurationProperties("application.pet-description-enhancement")
+public record PetDescriptionEnhancementProperties(
+    @DefaultValue("16") int maxConcurrency,
+    @DefaultValue("1000") int queueCapacity,
+    @DefaultValue("30") int shutdownTimeoutSeconds
+) {
+
+}
@@ -0,0 +1,16 @@
+package no.acntech.hexapetclinic.app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import no.acntech.hexapetclinic.app.service.PetResponseCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PetResponseCacheConfig extends BaseAppConfig {
+
+  @Bean
+  public PetResponseCache petResponseCache(PetResponseCacheProperties properties, MeterRegistry meterRegistry) {
+    log.debug("Caching up to {} rendered pets for {}", properties.maximumSize(), properties.timeToLive());
+    return new PetResponseCache(properties.maximumSize(), properties.timeToLive(), meterRegistry);
+  }
+}
@@ -0,0 +1,19 @@
+package no.acntech.hexapetclinic.app.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the cache of rendered pets looked up by identifier.
+ *
+ * @param maximumSize the maximum number of cached pets
+ * @param timeToLive  how long a pet is cached after it was rendered
+ */
+@ConfigurationProperties("application.pet-response-cache")
+public record PetResponseCacheProperties(
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("10m") Duration timeToLive
+) {
+
+}
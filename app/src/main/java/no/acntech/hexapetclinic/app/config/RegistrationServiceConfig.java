@@ -1,7 +1,9 @@
 package no.acntech.hexapetclinic.app.config;
 
-import no.acntech.hexapetclinic.domain.connector.PetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.connector.AsyncPetDescriptionEnhancer;
 import no.acntech.hexapetclinic.domain.factory.OwnerFactory;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.factory.SequentialPetIdentifierAllocator;
 import no.acntech.hexapetclinic.domain.factory.VisitFactory;
 import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
 import no.acntech.hexapetclinic.domain.repository.PetRepository;
@@ -13,16 +15,23 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RegistrationServiceConfig extends BaseAppConfig {
 
+  @Bean
+  public PetIdentifierAllocator petIdentifierAllocator(PetRepository petRepository) {
+    return new SequentialPetIdentifierAllocator(petRepository);
+  }
+
   @Bean
   public RegistrationService registrationService(
       OwnerFactory ownerFactory,
       VisitFactory visitFactory,
+      PetIdentifierAllocator petIdentifierAllocator,
       PetRepository petRepository,
       OwnerRepository ownerRepository,
       VisitRepository visitRepository,
-      PetDescriptionEnhancer petDescriptionEnhancer
+      AsyncPetDescriptionEnhancer petDescriptionEnhancer
   ) {
-    return new RegistrationService(ownerFactory, visitFactory, petRepository, ownerRepository, visitRepository, petDescriptionEnhancer);
+    return new RegistrationService(ownerFactory, visitFactory, petIdentifierAllocator, petRepository, ownerRepository, visitRepository,
+        petDescriptionEnhancer);
   }
 
 }
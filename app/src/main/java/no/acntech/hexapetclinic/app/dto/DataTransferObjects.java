@@ -3,6 +3,7 @@ package no.acntech.hexapetclinic.app.dto;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import no.acntech.hexapetclinic.utils.json.FlexibleInstantDeserializer;
@@ -11,9 +12,25 @@ import no.acntech.hexapetclinic.utils.json.FlexibleLocalDateDeserializer;
 @NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 public final class DataTransferObjects {
 
+  // --- Paging DTOs ---
+
+  /**
+   * A single page of a keyset-paginated listing.
+   *
+   * @param items      the items of this page, in ascending identifier order
+   * @param nextCursor the identifier to pass as {@code after} to fetch the next page, or null if this is the last page
+   */
+  public record PageDto<T>(
+      @NonNull List<T> items,
+      Long nextCursor
+  ) {
+
+  }
+
   // --- Pet DTOs ---
   public record PetResponseDto(
       @NonNull Long id,
+      @NonNull Long version,
       @NonNull String identifier,
       @NonNull String name,
       @NonNull String type,
@@ -21,6 +38,7 @@ public final class DataTransferObjects {
       @NonNull String gender,
       @NonNull LocalDate birthDate,
       @NonNull String description,
+      @NonNull String descriptionStatus,
       @NonNull Long ownerId
   ) {
 
@@ -42,6 +60,7 @@ public final class DataTransferObjects {
   // --- Visit DTOs ---
   public record VisitResponseDto(
       @NonNull Long id,
+      @NonNull Long version,
       @NonNull String petIdentifier,
       @NonNull Instant time,
       @NonNull String description
@@ -61,6 +80,7 @@ public final class DataTransferObjects {
   // --- Owner DTOs ---
   public record OwnerResponseDto(
       Long id,
+      Long version,
       String firstName,
       String lastName,
       String address,
@@ -15,6 +15,7 @@ public final class Mapper {
   public static OwnerResponseDto toOwnerResponseDto(@NonNull Owner owner) {
     return new OwnerResponseDto(
         owner.getId(),
+        owner.getVersion(),
         owner.getFirstName(),
         owner.getLastName(),
         owner.getAddress(),
@@ -27,6 +28,7 @@ public final class Mapper {
   public static VisitResponseDto toVisitResponseDto(@NonNull Visit visit) {
     return new VisitResponseDto(
         visit.getId(),
+        visit.getVersion(),
         visit.getPet().getIdentifier().getPrimitive(),
         visit.getTime(),
         visit.getDescription()
@@ -36,6 +38,7 @@ public final class Mapper {
   public static PetResponseDto toPetResponseDto(@NonNull Pet pet) {
     return new PetResponseDto(
         pet.getId(),
+        pet.getVersion(),
         pet.getIdentifier().getPrimitive(),
         pet.getName(),
         pet.getType().name(),
@@ -43,6 +46,7 @@ public final class Mapper {
         pet.getGender().name(),
         pet.getBirthDate(),
         pet.getDescription(),
+        pet.getDescriptionStatus().name(),
         pet.getOwner().getId()
     );
   }
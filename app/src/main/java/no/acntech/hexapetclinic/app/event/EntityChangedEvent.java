@@ -0,0 +1,27 @@
+package no.acntech.hexapetclinic.app.event;
+
+import lombok.NonNull;
+
+/**
+ * Application event published by the repositories when an entity has been saved or deleted, e.g. to evict cached representations of
+ * it. Published within the writing transaction, so listeners interested in committed changes only should listen after commit.
+ *
+ * @param entityType the type of the saved or deleted entity
+ * @param id         the unique identifier of the saved or deleted entity
+ */
+public record EntityChangedEvent(@NonNull Class<?> entityType, @NonNull Object id) {
+
+  /**
+   * Returns whether the changed entity is of the given type, e.g. a domain model interface implemented by the persisted entity.
+   */
+  public boolean isOf(@NonNull Class<?> type) {
+    return type.isAssignableFrom(entityType);
+  }
+
+  /**
+   * Returns whether the changed entity is the entity of the given type with the given identifier.
+   */
+  public boolean concerns(@NonNull Class<?> type, Object id) {
+    return isOf(type) && this.id.equals(id);
+  }
+}
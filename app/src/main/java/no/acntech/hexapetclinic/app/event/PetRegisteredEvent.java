@@ -0,0 +1,16 @@
+package no.acntech.hexapetclinic.app.event;
+
+import lombok.NonNull;
+import no.acntech.hexapetclinic.domain.model.PetType;
+
+/**
+ * Application event published when a new pet has been registered.
+ *
+ * @param petId       the unique identifier of the registered pet
+ * @param petType     the type the pet was registered with
+ * @param breed       the breed the pet was registered with
+ * @param description the description the pet was registered with
+ */
+public record PetRegisteredEvent(@NonNull Long petId, @NonNull PetType petType, @NonNull String breed, String description) {
+
+}
@@ -0,0 +1,129 @@
+package no.acntech.hexapetclinic.app.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.app.config.AsyncConfig;
+import no.acntech.hexapetclinic.domain.model.DescriptionStatus;
+import no.acntech.hexapetclinic.domain.model.Pet;
+import no.acntech.hexapetclinic.domain.repository.PetRepository;
+import no.acntech.hexapetclinic.domain.service.RegistrationService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Listens for {@link PetRegisteredEvent}s and enhances the description of the registered pet.
+ * <p>
+ * The enhancement runs only once the registering transaction has committed, on the dedicated
+ * {@link AsyncConfig#PET_DESCRIPTION_ENHANCEMENT_EXECUTOR} executor. Neither the servlet thread nor a database connection is held
+ * while the enhancer is running. The event carries what the pet was registered with, so the enhancement is started while the pet is
+ * still being read.
+ * <p>
+ * If the pet is changed while its description is being enhanced, writing the enhancement fails on the version of the pet, and the
+ * enhancement is retried once on the current pet. If the executor's queue is full, the enhancement is abandoned and counted by
+ * {@value #REJECTIONS_COUNTER}. If the enhancement fails otherwise, it is abandoned as well. An abandoned enhancement keeps the
+ * original description.
+ * <p>
+ * Enhancements that never ran, e.g. because they were still queued when the application was stopped, leave their pets pending
+ * enhancement. Once the application is ready, the enhancements of all pets still pending are submitted again. With several instances
+ * of the application, a pet being enhanced by one instance may be submitted again by another one starting up; the enhancement is then
+ * written once, and skipped or abandoned by the other instance.
+ */
+@Component
+@Slf4j
+public class PetRegisteredEventListener {
+
+  public static final String REJECTIONS_COUNTER = "pet.description.enhancement.rejections";
+
+  private final RegistrationService registrationService;
+  private final PetRepository petRepository;
+  private final Executor executor;
+  private final TransactionTemplate newTransaction;
+  private final Counter rejections;
+
+  public PetRegisteredEventListener(
+      RegistrationService registrationService,
+      PetRepository petRepository,
+      @Qualifier(AsyncConfig.PET_DESCRIPTION_ENHANCEMENT_EXECUTOR) Executor executor,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.registrationService = registrationService;
+    this.petRepository = petRepository;
+    this.executor = executor;
+    // The registering transaction has committed, but is still bound to the thread; writes must not join it
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.rejections = Counter.builder(REJECTIONS_COUNTER)
+        .description("Pet description enhancements abandoned because the enhancement queue was full")
+        .register(meterRegistry);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onPetRegistered(PetRegisteredEvent event) {
+    submit(event.petId(), () -> enhancePetDescription(event));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    List<Long> petIds = petRepository.findIdsByDescriptionStatus(DescriptionStatus.PENDING);
+    if (!petIds.isEmpty()) {
+      log.info("Resuming the description enhancement of {} pets", petIds.size());
+    }
+    petIds.forEach(petId -> submit(petId, () -> enhancePetDescription(petId)));
+  }
+
+  private void submit(Long petId, Runnable enhancement) {
+    try {
+      executor.execute(enhancement);
+    } catch (RejectedExecutionException e) {
+      rejections.increment();
+      log.warn("Pet description enhancement queue is full, keeping the original description of pet {}", petId);
+      abandonPetDescriptionEnhancement(petId);
+    }
+  }
+
+  private void enhancePetDescription(PetRegisteredEvent event) {
+    enhancePetDescription(event.petId(), () -> {
+      try {
+        return registrationService.enhancePetDescription(event.petId(), event.petType(), event.breed(), event.description());
+      } catch (OptimisticLockingFailureException e) {
+        log.debug("Pet {} was changed while its description was being enhanced, retrying: {}", event.petId(), e.getMessage());
+        return registrationService.enhancePetDescription(event.petId());
+      }
+    });
+  }
+
+  private void enhancePetDescription(Long petId) {
+    enhancePetDescription(petId, () -> registrationService.enhancePetDescription(petId));
+  }
+
+  private void enhancePetDescription(Long petId, Supplier<Pet> enhancement) {
+    try {
+      Pet pet = enhancement.get();
+      log.debug("Description of pet {} is {}", pet.getId(), pet.getDescriptionStatus());
+    } catch (RuntimeException e) {
+      log.error("Failed to enhance description of pet {}, keeping the original description: {}", petId, e.getMessage(), e);
+      abandonPetDescriptionEnhancement(petId);
+    }
+  }
+
+  private void abandonPetDescriptionEnhancement(Long petId) {
+    try {
+      newTransaction.executeWithoutResult(status -> registrationService.abandonPetDescriptionEnhancement(petId));
+    } catch (RuntimeException e) {
+      log.error("Failed to abandon enhancement of description of pet {}: {}", petId, e.getMessage(), e);
+    }
+  }
+}
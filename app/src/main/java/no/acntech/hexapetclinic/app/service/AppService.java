@@ -1,13 +1,20 @@
 package no.acntech.hexapetclinic.app.service;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import no.acntech.hexapetclinic.app.dto.DataTransferObjects;
+import no.acntech.hexapetclinic.app.dto.DataTransferObjects.OwnerResponseDto;
+import no.acntech.hexapetclinic.app.dto.DataTransferObjects.PageDto;
 import no.acntech.hexapetclinic.app.dto.DataTransferObjects.PetResponseDto;
 import no.acntech.hexapetclinic.app.dto.DataTransferObjects.VisitResponseDto;
 import no.acntech.hexapetclinic.app.dto.Mapper;
+import no.acntech.hexapetclinic.app.event.PetRegisteredEvent;
 import no.acntech.hexapetclinic.domain.model.EmailAddress;
 import no.acntech.hexapetclinic.domain.model.Owner;
 import no.acntech.hexapetclinic.domain.model.Pet;
@@ -20,6 +27,8 @@ import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
 import no.acntech.hexapetclinic.domain.repository.PetRepository;
 import no.acntech.hexapetclinic.domain.repository.VisitRepository;
 import no.acntech.hexapetclinic.domain.service.RegistrationService;
+import no.acntech.hexapetclinic.domain.service.RegistrationService.VisitRegistration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,12 +36,31 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class AppService {
 
+  /**
+   * Upper bound for the page size of the paginated listings, regardless of what the client asks for.
+   */
+  public static final int MAX_PAGE_LIMIT = 1000;
+
+  /**
+   * Upper bound for the number of visits registered in a single batch request.
+   */
+  public static final int MAX_VISIT_BATCH_SIZE = 10_000;
+
+  /**
+   * Time range bounds applied when a client leaves a bound of the visit history of a pet open. Any visit time lies within them.
+   */
+  private static final Instant EARLIEST_VISIT_TIME = Instant.EPOCH;
+  private static final Instant LATEST_VISIT_TIME = Instant.parse("9999-12-31T23:59:59Z");
+
   private final RegistrationService registrationService;
+  private final ApplicationEventPublisher eventPublisher;
 
   private final VisitRepository visitRepo;
   private final PetRepository petRepo;
   private final OwnerRepository ownerRepo;
 
+  private final PetResponseCache petResponseCache;
+
   // Visit
   @Transactional
   @NonNull
@@ -45,17 +73,46 @@ public class AppService {
     return Mapper.toVisitResponseDto(visit);
   }
 
+  @Transactional
+  @NonNull
+  public List<VisitResponseDto> handleVisitBatchCreationDtos(@NonNull List<DataTransferObjects.VisitCreationDto> dtos) {
+    checkArgument(dtos.size() <= MAX_VISIT_BATCH_SIZE, "Batch must not contain more than %d visits, but had %d", MAX_VISIT_BATCH_SIZE,
+        dtos.size());
+    List<Visit> visits = registrationService.registerVisits(dtos.stream()
+        .map(dto -> new VisitRegistration(dto.petIdentifier(), dto.time(), dto.description()))
+        .toList());
+    return visits.stream()
+        .map(Mapper::toVisitResponseDto)
+        .toList();
+  }
+
   public VisitResponseDto getVisitById(Long id) {
     Visit visit = visitRepo.findByIdOrElseThrow(id);
 
     return Mapper.toVisitResponseDto(visit);
   }
 
-  public List<VisitResponseDto> getAllVisits() {
-    List<Visit> visits = visitRepo.findAll();
-    return visits.stream()
-        .map(Mapper::toVisitResponseDto)
-        .collect(Collectors.toList());
+  public PageDto<VisitResponseDto> getAllVisits(Long after, int limit) {
+    List<Visit> visits = visitRepo.findAllAfter(after, clampLimit(limit));
+    return toPage(visits, limit, Visit::getId, Mapper::toVisitResponseDto);
+  }
+
+  /**
+   * Exports all visits, one at a time, to the given sink in ascending identifier order. The visits are streamed from the repository
+   * and mapped individually, so the complete result is never held in memory.
+   * <p>
+   * The read-only transaction, and with it a connection of the pool, is held until the sink has received the last visit, i.e. for as
+   * long as the client takes to read the export. An export therefore occupies one connection throughout, and one running longer than
+   * the leak detection threshold of the pool is reported as a possible leak, followed by a notice when the connection is returned.
+   *
+   * @param sink the consumer receiving each visit; invoked within a read-only transaction
+   */
+  @Transactional(readOnly = true)
+  public void exportAllVisits(@NonNull Consumer<VisitResponseDto> sink) {
+    try (Stream<Visit> visits = visitRepo.streamAll()) {
+      visits.map(Mapper::toVisitResponseDto)
+          .forEach(sink);
+    }
   }
 
   // Pet
@@ -72,6 +129,8 @@ public class AppService {
         dto.description(),
         dto.ownerId()
     );
+    // Enhance the description once the pet is committed, outside of this transaction
+    eventPublisher.publishEvent(new PetRegisteredEvent(pet.getId(), pet.getType(), pet.getBreed(), pet.getDescription()));
     return Mapper.toPetResponseDto(pet);
   }
 
@@ -81,15 +140,38 @@ public class AppService {
   }
 
   public PetResponseDto getPetByIdentifier(String identifierValue) {
-    Pet pet = petRepo.findByIdentifier(PetIdentifier.of(identifierValue));
-    return Mapper.toPetResponseDto(pet);
+    PetIdentifier identifier = PetIdentifier.of(identifierValue);
+    return petResponseCache.get(identifier, () -> Mapper.toPetResponseDto(petRepo.findByIdentifier(identifier)));
+  }
+
+  /**
+   * Retrieves a page of the visits of a pet within a time range, in ascending time order. An unknown pet has no visits.
+   * <p>
+   * An empty page following a cursor is only returned if the cursor is a visit of the pet, so a mistyped or stale cursor is rejected
+   * rather than taken for the end of the visits. The cursor is only looked up when the page is empty.
+   *
+   * @param identifierValue the identifier of the pet
+   * @param from            the earliest time of the visits (inclusive), or null for no lower bound
+   * @param to              the latest time of the visits (exclusive), or null for no upper bound
+   * @param after           the identifier of the last visit of the previous page, or null to fetch the first page
+   * @param limit           the maximum number of visits to return
+   * @return the page of visits
+   * @throws InvalidArgumentException if the time range is empty, the limit is not positive, or the cursor is not a visit of the pet
+   */
+  public PageDto<VisitResponseDto> getPetVisits(String identifierValue, Instant from, Instant to, Long after, int limit) {
+    PetIdentifier identifier = PetIdentifier.of(identifierValue);
+    Instant rangeFrom = from != null ? from : EARLIEST_VISIT_TIME;
+    Instant rangeTo = to != null ? to : LATEST_VISIT_TIME;
+    checkArgument(rangeFrom.isBefore(rangeTo), "Time range must not be empty, but was [%s, %s)", rangeFrom, rangeTo);
+    List<Visit> visits = visitRepo.findByPetIdentifierAndTimeRange(identifier, rangeFrom, rangeTo, after, clampLimit(limit));
+    checkArgument(!visits.isEmpty() || after == null || visitRepo.existsByIdAndPetIdentifier(after, identifier),
+        "Cursor %d is not a visit of pet %s", after, identifier.getPrimitive());
+    return toPage(visits, limit, Visit::getId, Mapper::toVisitResponseDto);
   }
 
-  public List<PetResponseDto> getAllPets() {
-    List<Pet> pets = petRepo.findAll();
-    return pets.stream()
-        .map(Mapper::toPetResponseDto)
-        .collect(Collectors.toList());
+  public PageDto<PetResponseDto> getAllPets(Long after, int limit) {
+    List<Pet> pets = petRepo.findAllAfter(after, clampLimit(limit));
+    return toPage(pets, limit, Pet::getId, Mapper::toPetResponseDto);
   }
 
   // Owner
@@ -113,10 +195,37 @@ public class AppService {
     return Mapper.toOwnerResponseDto(owner);
   }
 
-  public List<DataTransferObjects.OwnerResponseDto> getAllOwners() {
-    List<Owner> owners = ownerRepo.findAll();
-    return owners.stream()
-        .map(Mapper::toOwnerResponseDto)
-        .collect(Collectors.toList());
+  public PageDto<OwnerResponseDto> getAllOwners(Long after, int limit) {
+    List<Owner> owners = ownerRepo.findAllAfter(after, clampLimit(limit));
+    return toPage(owners, limit, Owner::getId, Mapper::toOwnerResponseDto);
+  }
+
+  // Arguments
+
+  private static void checkArgument(boolean valid, String messageFormat, Object... values) {
+    if (!valid) {
+      throw new InvalidArgumentException(String.format(messageFormat, values));
+    }
+  }
+
+  // Paging
+
+  private static int clampLimit(int limit) {
+    checkArgument(limit > 0, "Limit must be positive, but was %d", limit);
+    return Math.min(limit, MAX_PAGE_LIMIT);
+  }
+
+  /**
+   * Maps a page of domain entities to a {@link PageDto}. A full page yields the identifier of its last entity as the next cursor, a
+   * short page means there is nothing more to fetch.
+   */
+  private static <T, D> PageDto<D> toPage(List<T> entities, int limit, ToLongFunction<T> idOf, Function<T, D> mapper) {
+    Long nextCursor = !entities.isEmpty() && entities.size() == clampLimit(limit)
+        ? idOf.applyAsLong(entities.getLast())
+        : null;
+    List<D> items = entities.stream()
+        .map(mapper)
+        .toList();
+    return new PageDto<>(items, nextCursor);
   }
 }
\ No newline at end of file
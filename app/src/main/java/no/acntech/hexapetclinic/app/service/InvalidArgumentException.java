@@ -0,0 +1,14 @@
+package no.acntech.hexapetclinic.app.service;
+
+/**
+ * Exception thrown when the arguments of a request do not satisfy the preconditions of the application services, e.g. an empty time
+ * range, a non-positive page limit or a cursor that does not denote an entity of the listed collection. The message states the
+ * precondition violated, and is meant to be returned to the client.
+ */
+public class InvalidArgumentException extends RuntimeException {
+
+  // Constructors
+  public InvalidArgumentException(String message) {
+    super(message);
+  }
+}
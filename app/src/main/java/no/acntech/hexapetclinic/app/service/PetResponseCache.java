@@ -0,0 +1,122 @@
+package no.acntech.hexapetclinic.app.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import no.acntech.hexapetclinic.app.dto.DataTransferObjects.PetResponseDto;
+import no.acntech.hexapetclinic.app.event.EntityChangedEvent;
+import no.acntech.hexapetclinic.domain.model.Owner;
+import no.acntech.hexapetclinic.domain.model.Pet;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Read-through cache of rendered pets, keyed by their identifier, serving the lookups of pets by identifier without touching the
+ * database or mapping the pet again.
+ * <p>
+ * Entries are evicted once a transaction saving or deleting the pet, or its owner, has committed (see {@link EntityChangedEvent}).
+ * A pet read while such an eviction happens is returned, but not cached, so a lookup racing with a write never leaves the old
+ * representation behind. Pets are written far less often than they are looked up, so evictions simply scan the cached entries.
+ * <p>
+ * The hit ratio is published with {@link GuavaCacheMetrics} as the {@value #CACHE_NAME} cache, and the latency of lookups as the
+ * {@value #LOOKUP_TIMER} timer, tagged with whether the lookup was a hit or a miss.
+ */
+public class PetResponseCache {
+
+  public static final String CACHE_NAME = "petResponses";
+  public static final String LOOKUP_TIMER = "pet.response.cache.lookups";
+
+  private final Cache<PetIdentifier, PetResponseDto> cache;
+  private final AtomicLong evictions = new AtomicLong(); // Incremented before every eviction, so racing loads can detect it
+  private final Timer hitTimer;
+  private final Timer missTimer;
+
+  /**
+   * Creates a cache of rendered pets.
+   *
+   * @param maximumSize   the maximum number of cached pets
+   * @param timeToLive    how long a pet is cached after it was rendered
+   * @param meterRegistry the registry the cache statistics and lookup latencies are published to
+   */
+  public PetResponseCache(long maximumSize, @NonNull Duration timeToLive, @NonNull MeterRegistry meterRegistry) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build();
+    GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    this.hitTimer = lookupTimer(meterRegistry, "hit");
+    this.missTimer = lookupTimer(meterRegistry, "miss");
+  }
+
+  /**
+   * Returns the cached pet with the given identifier, or renders it with the given loader and caches it.
+   *
+   * @param identifier the identifier of the pet
+   * @param loader     renders the pet on a cache miss; exceptions are propagated and nothing is cached
+   * @return the rendered pet
+   */
+  public PetResponseDto get(@NonNull PetIdentifier identifier, @NonNull Supplier<PetResponseDto> loader) {
+    long start = System.nanoTime();
+    PetResponseDto cached = cache.getIfPresent(identifier);
+    if (cached != null) {
+      hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return cached;
+    }
+
+    long evictionsBefore = evictions.get();
+    PetResponseDto loaded = loader.get();
+    if (evictions.get() == evictionsBefore) {
+      cache.put(identifier, loaded);
+      if (evictions.get() != evictionsBefore) {
+        cache.asMap().remove(identifier, loaded); // Evicted while being cached, the loaded pet may be out of date
+      }
+    }
+    missTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return loaded;
+  }
+
+  /**
+   * Evicts the pets affected by a committed change: the changed pet itself, or all pets of the changed owner.
+   *
+   * @param event the change of an entity
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onEntityChanged(@NonNull EntityChangedEvent event) {
+    if (event.isOf(Pet.class)) {
+      evict(pet -> pet.id().equals(event.id()));
+    } else if (event.isOf(Owner.class)) {
+      evict(pet -> pet.ownerId().equals(event.id()));
+    }
+  }
+
+  /**
+   * Evicts all cached pets.
+   */
+  public void evictAll() {
+    evictions.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  private void evict(Predicate<PetResponseDto> affected) {
+    evictions.incrementAndGet();
+    cache.asMap().values().removeIf(affected);
+  }
+
+  private static Timer lookupTimer(MeterRegistry meterRegistry, String result) {
+    return Timer.builder(LOOKUP_TIMER)
+        .description("The latency of looking up a rendered pet, including rendering it on a miss")
+        .tag("result", result)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+}
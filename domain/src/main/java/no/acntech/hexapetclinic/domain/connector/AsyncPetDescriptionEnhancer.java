@@ -0,0 +1,24 @@
+package no.acntech.hexapetclinic.domain.connector;
+
+import java.util.concurrent.CompletableFuture;
+import lombok.NonNull;
+import no.acntech.hexapetclinic.domain.model.PetType;
+
+/**
+ * A {@link PetDescriptionEnhancer} that can also enhance descriptions without blocking the caller.
+ * <p>
+ * {@link #enhanceDescriptionAsync} returns as soon as the enhancement has been started, so the caller can do other work, such as
+ * looking up the pet, while the enhancement service is being called. Implementations should not tie up a thread of their own for the
+ * duration of the call where the underlying client allows it.
+ */
+public interface AsyncPetDescriptionEnhancer extends PetDescriptionEnhancer {
+
+  /**
+   * Starts enhancing the given description.
+   *
+   * @return a future completed with the enhanced description, or completed exceptionally if the enhancement failed. Cancelling the
+   * future abandons the enhancement.
+   */
+  CompletableFuture<String> enhanceDescriptionAsync(@NonNull PetType petType, @NonNull String breed, @NonNull String description);
+
+}
@@ -0,0 +1,17 @@
+package no.acntech.hexapetclinic.domain.factory;
+
+import java.time.LocalDate;
+import lombok.NonNull;
+import no.acntech.hexapetclinic.domain.model.Gender;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+
+/**
+ * Allocates identifiers for newly registered pets.
+ *
+ * Implementations must never hand out the same {@link PetIdentifier} twice, also when called concurrently.
+ */
+public interface PetIdentifierAllocator {
+
+  PetIdentifier allocate(@NonNull LocalDate birthDate, @NonNull Gender gender);
+
+}
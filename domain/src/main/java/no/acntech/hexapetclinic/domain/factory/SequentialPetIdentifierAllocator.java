@@ -0,0 +1,61 @@
+package no.acntech.hexapetclinic.domain.factory;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import no.acntech.hexapetclinic.domain.DomainException;
+import no.acntech.hexapetclinic.domain.model.Gender;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.repository.PetRepository;
+
+/**
+ * A {@link PetIdentifierAllocator} handing out the unique numbers of each birth date and gender in sequence.
+ * <p>
+ * Every birth date and gender has a counter of its own, so concurrent registrations only contend when their pets share both. A
+ * counter is seeded from the highest identifier in the repository the first time its birth date and gender is seen, and is then
+ * incremented atomically without locking. Identifiers are therefore unique within this allocator and never collide with those
+ * already stored, but are not coordinated between several instances of the application writing to the same database.
+ * <p>
+ * Stored identifiers with a unique number above {@link PetIdentifier#MAX_UNIQUE} cannot collide with allocated ones, so they are not
+ * taken into account when seeding a counter.
+ */
+@RequiredArgsConstructor
+public class SequentialPetIdentifierAllocator implements PetIdentifierAllocator {
+
+  private final PetRepository petRepository;
+
+  private final ConcurrentMap<Integer, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+  @Override
+  public PetIdentifier allocate(@NonNull LocalDate birthDate, @NonNull Gender gender) {
+    int bucket = bucketOf(birthDate, gender);
+    AtomicInteger counter = counters.get(bucket);
+    if (counter == null) {
+      // Looked up outside the map, so other buckets are not blocked by the query. If several threads race here, the first counter
+      // put in the map is shared by all of them.
+      AtomicInteger seeded = new AtomicInteger(findHighestUniqueNumber(birthDate, gender));
+      counter = counters.computeIfAbsent(bucket, key -> seeded);
+    }
+
+    int uniqueNumber = counter.incrementAndGet();
+    if (uniqueNumber > PetIdentifier.MAX_UNIQUE) {
+      throw new DomainException(String.format("All pet identifiers for pets born %s with gender %s are taken", birthDate, gender));
+    }
+    return PetIdentifier.generate(birthDate.getYear(), birthDate.getMonthValue(), birthDate.getDayOfMonth(), gender, uniqueNumber);
+  }
+
+  private int findHighestUniqueNumber(LocalDate birthDate, Gender gender) {
+    return petRepository.findHighestIdentifier(birthDate, gender)
+        .map(PetIdentifier::getUniqueNumber)
+        .filter(uniqueNumber -> uniqueNumber <= PetIdentifier.MAX_UNIQUE)
+        .orElse(PetIdentifier.MIN_UNIQUE - 1);
+  }
+
+  private static int bucketOf(LocalDate birthDate, Gender gender) {
+    // YYYYmmddG as a number, which fits in an int
+    return ((birthDate.getYear() * 100 + birthDate.getMonthValue()) * 100 + birthDate.getDayOfMonth()) * 10 + gender.getCode();
+  }
+}
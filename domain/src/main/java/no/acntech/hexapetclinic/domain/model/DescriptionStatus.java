@@ -0,0 +1,16 @@
+package no.acntech.hexapetclinic.domain.model;
+
+/**
+ * Enumerates the states of a pet's description with respect to enhancement.
+ *
+ * The description of a newly registered pet is enhanced asynchronously, after the registration itself has completed. The status lets
+ * clients tell whether the description they see is final:
+ * - PENDING: the original description is stored and enhancement has not completed yet.
+ * - ENHANCED: the description has been replaced by its enhanced version.
+ * - ORIGINAL: the original description is kept, either because enhancement was not requested or because it did not produce a change.
+ */
+public enum DescriptionStatus {
+  PENDING,
+  ENHANCED,
+  ORIGINAL;
+}
@@ -1,8 +1,8 @@
 package no.acntech.hexapetclinic.domain.model;
 
-import java.util.regex.Pattern;
+import lombok.NonNull;
 import no.acntech.hexapetclinic.domain.model.framework.StringValueObject;
-import no.acntech.hexapetclinic.utils.text.RegexValidator;
+import no.acntech.hexapetclinic.domain.model.framework.Trusted;
 import no.acntech.hexapetclinic.utils.validation.Validator;
 
 /**
@@ -15,19 +15,27 @@ public final class EmailAddress extends StringValueObject {
   // Based on RFC 5321 standard for email addresses
   public static final int MAX_LENGTH = 254;
 
-  private static final String EMAIL_REGEX = "(?i)^(?!\\.)([a-zA-Z0-9._%+-]+)(?<!\\.)@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
-
-
-  private static final Validator<String> PATTERN_VALIDATOR = new RegexValidator(Pattern.compile(EMAIL_REGEX, Pattern.CASE_INSENSITIVE));
+  private static final Validator<String> SYNTAX_VALIDATOR = new EmailAddressSyntax();
 
   /**
-   * Factory method to create a new EmailAddress instance.
+   * Factory method to create a new EmailAddress instance, or return the canonical instance if the value has been interned, see
+   * {@link ValueObjectInterners}.
    *
    * @param value the email address as a string.
    * @return an instance of EmailAddress.
    */
   public static EmailAddress of(String value) {
-    return new EmailAddress(value);
+    return ValueObjectInterners.EMAIL_ADDRESSES.intern(value);
+  }
+
+  /**
+   * Factory method to create an EmailAddress from an already validated value, without validating it again.
+   *
+   * @param value the email address as a string, already validated, e.g. when it was written to the database.
+   * @return an instance of EmailAddress.
+   */
+  public static EmailAddress ofTrusted(@NonNull String value) {
+    return new EmailAddress(value, Trusted.ALREADY_VALIDATED);
   }
 
   /**
@@ -39,6 +47,10 @@ public final class EmailAddress extends StringValueObject {
     super(value);
   }
 
+  private EmailAddress(String value, Trusted trusted) {
+    super(value, trusted);
+  }
+
   @Override
   public int getMinLength() {
     return MIN_LENGTH;
@@ -50,12 +62,12 @@ public final class EmailAddress extends StringValueObject {
   }
 
   /**
-   * Validates the syntax of the email address using a pre-defined regex pattern.
+   * Validates the syntax of the email address, see {@link EmailAddressSyntax}.
    *
    * @param value the email address as a string.
    */
   @Override
   public void validateSyntax(String value) {
-    PATTERN_VALIDATOR.validate(value);
+    SYNTAX_VALIDATOR.validate(value);
   }
 }
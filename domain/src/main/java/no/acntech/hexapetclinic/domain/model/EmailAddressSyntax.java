@@ -0,0 +1,82 @@
+package no.acntech.hexapetclinic.domain.model;
+
+import no.acntech.hexapetclinic.utils.text.StringUtils;
+import no.acntech.hexapetclinic.utils.validation.ValidationException;
+import no.acntech.hexapetclinic.utils.validation.Validator;
+
+/**
+ * Validates the syntax of email addresses with a hand-written scanner, accepting exactly the language of {@link #REGEX}.
+ * <p>
+ * The scanner makes at most two passes over the characters and allocates nothing, whatever the input, whereas the regular expression
+ * needs lookaround and backtracking.
+ */
+public final class EmailAddressSyntax implements Validator<String> {
+
+  /**
+   * The language accepted by the scanner, as a (case-insensitive) regular expression. Only used to describe invalid email addresses.
+   */
+  public static final String REGEX = "(?i)^(?!\\.)([a-zA-Z0-9._%+-]+)(?<!\\.)@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
+
+  private static final int TRUNCATE_MAX_LENGTH = 16;
+  private static final int MIN_TOP_LEVEL_DOMAIN_LENGTH = 2;
+
+  /**
+   * Returns whether the given value is a syntactically valid email address.
+   *
+   * @param value the value to check.
+   * @return true if the value matches {@link #REGEX}, false otherwise.
+   */
+  public static boolean matches(String value) {
+    // The local part is everything before the first '@', as it cannot contain '@' itself
+    int at = value.indexOf('@');
+    if (at <= 0 || value.charAt(0) == '.' || value.charAt(at - 1) == '.') {
+      return false;
+    }
+    for (int i = 0; i < at; i++) {
+      if (!isLocalPartChar(value.charAt(i))) {
+        return false;
+      }
+    }
+
+    // The top-level domain can only contain letters, so it starts after the last '.', which needs at least one character before it
+    int lastDot = value.lastIndexOf('.');
+    if (lastDot <= at + 1 || value.length() - lastDot - 1 < MIN_TOP_LEVEL_DOMAIN_LENGTH) {
+      return false;
+    }
+    for (int i = at + 1; i < lastDot; i++) {
+      if (!isDomainChar(value.charAt(i))) {
+        return false;
+      }
+    }
+    for (int i = lastDot + 1; i < value.length(); i++) {
+      if (!isLetter(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void validate(String value) {
+    if (!matches(value)) {
+      throw new ValidationException("String '" + StringUtils.truncate(value, TRUNCATE_MAX_LENGTH, false, true)
+          + "' does not match the required regex pattern: " + REGEX);
+    }
+  }
+
+  private static boolean isLocalPartChar(char c) {
+    return isLetter(c) || isDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+  }
+
+  private static boolean isDomainChar(char c) {
+    return isLetter(c) || isDigit(c) || c == '.' || c == '-';
+  }
+
+  private static boolean isLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
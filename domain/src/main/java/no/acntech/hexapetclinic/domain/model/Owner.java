@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.Set;
 import lombok.NonNull;
 import no.acntech.hexapetclinic.domain.model.framework.Entity;
+import no.acntech.hexapetclinic.domain.model.framework.Versioned;
 
 /**
  * Represents an owner in the domain model. An owner is associated with multiple pets
@@ -13,7 +14,7 @@ import no.acntech.hexapetclinic.domain.model.framework.Entity;
  * This interface provides methods to modify the owner's information,
  * manage relationships with their pets, and retrieve aggregated details.
  */
-public interface Owner extends Entity<Long> {
+public interface Owner extends Entity<Long>, Versioned {
 
   String getFirstName();
 
@@ -30,6 +31,7 @@ public interface Owner extends Entity<Long> {
   Set<Pet> getPets();
 
   Pet registerPet(
+      @NonNull PetIdentifier identifier,
       @NonNull String name,
       @NonNull PetType type,
       @NonNull String breed,
@@ -3,13 +3,14 @@ package no.acntech.hexapetclinic.domain.model;
 import java.time.LocalDate;
 import lombok.NonNull;
 import no.acntech.hexapetclinic.domain.model.framework.Entity;
+import no.acntech.hexapetclinic.domain.model.framework.Versioned;
 
 /**
  * Represents a Pet entity which holds essential information about a pet, such as its identifier, name, type, breed, gender,
  * birth date, description, and owner details. The Pet is designed as an immutable interface where changes to its attributes
  * return a modified copy of the instance.
  */
-public interface Pet extends Entity<Long> {
+public interface Pet extends Entity<Long>, Versioned {
 
   PetIdentifier getIdentifier();
 
@@ -25,6 +26,8 @@ public interface Pet extends Entity<Long> {
 
   String getDescription();
 
+  DescriptionStatus getDescriptionStatus();
+
   Owner getOwner();
 
   Pet changeName(@NonNull String name);
@@ -32,4 +35,6 @@ public interface Pet extends Entity<Long> {
   Pet changeBirthDate(@NonNull LocalDate birthDate);
 
   Pet changeDescription(@NonNull String description);
+
+  Pet changeDescriptionStatus(@NonNull DescriptionStatus descriptionStatus);
 }
@@ -2,12 +2,15 @@ package no.acntech.hexapetclinic.domain.model;
 
 import static org.apache.commons.lang3.Validate.isTrue;
 
+import java.nio.CharBuffer;
 import java.security.SecureRandom;
 import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.util.regex.Pattern;
+import java.time.Month;
+import java.time.Year;
 import lombok.NonNull;
 import no.acntech.hexapetclinic.domain.model.framework.StringValueObject;
+import no.acntech.hexapetclinic.domain.model.framework.Trusted;
 import no.acntech.hexapetclinic.utils.text.StringUtils;
 import no.acntech.hexapetclinic.utils.validation.ValidationException;
 
@@ -24,20 +27,45 @@ import no.acntech.hexapetclinic.utils.validation.ValidationException;
  * to ensure conformity with the required format.
  * <p>
  * This class extends {@link StringValueObject}, inheriting its value object semantics and customization options for additional validation.
+ * <p>
+ * Identifiers are parsed, validated and formatted often: on every lookup, every registration and every pet row loaded from the
+ * database. Validation is therefore done in a single pass over the characters, and generated identifiers are written into a
+ * pre-sized character array, without regular expressions, format strings or intermediate substrings.
  */
 public class PetIdentifier extends StringValueObject {
 
   public static final int FIXED_LENGTH = 16;
-
-  private static final String REGEX = "^(\\d{4})(\\d{2})(\\d{2})([12])(\\d{6})(\\d)$";
-  private static final Pattern PATTERN = Pattern.compile(REGEX);
+  public static final int MIN_UNIQUE = 1;
+  public static final int MAX_UNIQUE = 100000;
+
+  // Positions and lengths of the parts of "YYYYmmddGNNNNNNC"
+  private static final int YEAR_INDEX = 0;
+  private static final int YEAR_LENGTH = 4;
+  private static final int MONTH_INDEX = 4;
+  private static final int DAY_INDEX = 6;
+  private static final int MONTH_DAY_LENGTH = 2;
+  private static final int GENDER_INDEX = 8;
+  private static final int UNIQUE_INDEX = 9;
+  private static final int UNIQUE_LENGTH = 6;
+  private static final int CONTROL_DIGIT_INDEX = 15;
+  private static final int PREFIX_LENGTH = UNIQUE_INDEX;
+
+  private static final int MAX_YEAR = 9999;
+
+  // Control digit weights of the base identifier, cycling from 2 to 7 starting at its last digit
+  private static final int[] CONTROL_DIGIT_WEIGHTS = controlDigitWeights();
 
   private static final SecureRandom RANDOM = new SecureRandom(); // To generate random unique numbers
-  private static final int MIN_UNIQUE = 1;
-  private static final int MAX_UNIQUE = 100000;
 
   public static PetIdentifier of(@NonNull String value) {
-    return new PetIdentifier(value);
+    return ValueObjectInterners.PET_IDENTIFIERS.intern(value);
+  }
+
+  /**
+   * Creates a PetIdentifier from an already validated value, e.g. one read back from the database, without validating it again.
+   */
+  public static PetIdentifier ofTrusted(@NonNull String value) {
+    return new PetIdentifier(value, Trusted.ALREADY_VALIDATED);
   }
 
   public static PetIdentifier generate(int year, int month, int day, @NonNull Gender gender) {
@@ -48,12 +76,49 @@ public class PetIdentifier extends StringValueObject {
   public static PetIdentifier generate(int year, int month, int day, @NonNull Gender gender, int uniqueNumber) {
     validateInput(year, month, day, uniqueNumber);
 
-    String datePart = String.format("%04d%02d%02d", year, month, day);
-    String uniquePart = String.format("%06d", uniqueNumber);
-    String baseId = datePart + gender.getCode() + uniquePart;
+    if (year < 0 || year > MAX_YEAR) {
+      // A valid date, but its year does not fit in the four digits of the format
+      throw new ValidationException(String.format(
+          "PetIdentifier for year %d does not match the required format: YYYYmmddGNNNNNNC", year));
+    }
+
+    char[] chars = new char[FIXED_LENGTH];
+    writePrefix(chars, year, month, day, gender);
+    writeDigits(chars, UNIQUE_INDEX, UNIQUE_LENGTH, uniqueNumber);
+    chars[CONTROL_DIGIT_INDEX] = (char) ('0' + computeControlDigit(CharBuffer.wrap(chars)));
+    return new PetIdentifier(new String(chars));
+  }
 
-    int controlDigit = computeControlDigit(baseId);
-    return new PetIdentifier(baseId + controlDigit);
+  /**
+   * Returns the prefix shared by the identifiers of all pets born on the given date with the given gender, i.e. the "YYYYmmddG" part.
+   */
+  public static String prefixOf(@NonNull LocalDate birthDate, @NonNull Gender gender) {
+    char[] chars = new char[PREFIX_LENGTH];
+    writePrefix(chars, birthDate.getYear(), birthDate.getMonthValue(), birthDate.getDayOfMonth(), gender);
+    return new String(chars);
+  }
+
+  private static void writePrefix(char[] chars, int year, int month, int day, Gender gender) {
+    writeDigits(chars, YEAR_INDEX, YEAR_LENGTH, year);
+    writeDigits(chars, MONTH_INDEX, MONTH_DAY_LENGTH, month);
+    writeDigits(chars, DAY_INDEX, MONTH_DAY_LENGTH, day);
+    chars[GENDER_INDEX] = (char) ('0' + gender.getCode());
+  }
+
+  private static void writeDigits(char[] chars, int index, int length, int value) {
+    // Zero-padded, from the last digit backwards
+    for (int i = index + length - 1; i >= index; i--) {
+      chars[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  private static int readDigits(CharSequence value, int index, int length) {
+    int result = 0;
+    for (int i = index; i < index + length; i++) {
+      result = result * 10 + (value.charAt(i) - '0');
+    }
+    return result;
   }
 
   private static void validateInput(int year, int month, int day, int uniqueNumber) {
@@ -64,49 +129,56 @@ public class PetIdentifier extends StringValueObject {
   }
 
   private static boolean isValidDate(int year, int month, int day) {
-    return !(month < 1 || month > 12 || day < 1 || day > 31) && isValidLocalDate(year, month, day);
-  }
-
-  private static boolean isValidLocalDate(int year, int month, int day) {
-    try {
-      LocalDate.of(year, month, day);
-      return true;
-    } catch (DateTimeException e) {
-      return false;
-    }
+    // Same rules as LocalDate.of, without creating one
+    return year >= Year.MIN_VALUE && year <= Year.MAX_VALUE
+        && month >= 1 && month <= 12
+        && day >= 1 && day <= Month.of(month).length(Year.isLeap(year));
   }
 
   private static int generateRandomUniqueNumber() {
     return RANDOM.nextInt(MAX_UNIQUE - MIN_UNIQUE + 1) + MIN_UNIQUE;
   }
 
-  private static int computeControlDigit(String baseId) {
-    int sum = 0;
+  private static int[] controlDigitWeights() {
+    int[] weights = new int[CONTROL_DIGIT_INDEX];
     int weight = 2;
-    for (int i = baseId.length() - 1; i >= 0; i--) {
-      sum += Character.getNumericValue(baseId.charAt(i)) * weight;
+    for (int i = weights.length - 1; i >= 0; i--) {
+      weights[i] = weight;
       weight = (weight == 7) ? 2 : weight + 1;
     }
+    return weights;
+  }
+
+  private static int computeControlDigit(CharSequence value) {
+    int sum = 0;
+    for (int i = 0; i < CONTROL_DIGIT_INDEX; i++) {
+      sum += (value.charAt(i) - '0') * CONTROL_DIGIT_WEIGHTS[i];
+    }
+    return controlDigitOf(sum);
+  }
+
+  private static int controlDigitOf(int sum) {
     int mod = sum % 11;
     return (mod == 10) ? 0 : mod;
   }
 
-  private static void validateDate(String datePart) {
-    int year = Integer.parseInt(datePart.substring(0, 4));
-    int month = Integer.parseInt(datePart.substring(4, 6));
-    int day = Integer.parseInt(datePart.substring(6, 8));
-    LocalDate.of(year, month, day);
+  private static void validateDate(String value) {
+    int year = readDigits(value, YEAR_INDEX, YEAR_LENGTH);
+    int month = readDigits(value, MONTH_INDEX, MONTH_DAY_LENGTH);
+    int day = readDigits(value, DAY_INDEX, MONTH_DAY_LENGTH);
+    if (!isValidDate(year, month, day)) {
+      LocalDate.of(year, month, day); // Throws the DateTimeException describing what is wrong
+    }
   }
 
-  private static void validateGender(String genderPart) {
-    int genderCode = Integer.parseInt(genderPart);
+  private static void validateGender(String value) {
+    int genderCode = value.charAt(GENDER_INDEX) - '0';
     Gender.fromCode(genderCode);
   }
 
   private static void validateControlDigit(String value) {
-    String baseId = value.substring(0, value.length() - 1);
-    int expectedControlDigit = computeControlDigit(baseId);
-    int actualControlDigit = Character.getNumericValue(value.charAt(value.length() - 1));
+    int expectedControlDigit = computeControlDigit(value);
+    int actualControlDigit = value.charAt(CONTROL_DIGIT_INDEX) - '0';
     if (actualControlDigit != expectedControlDigit) {
       throw new ValidationException(String.format(
           "Invalid control digit in PetIdentifier '%s'. Expected: %d, Found: %d",
@@ -118,6 +190,17 @@ public class PetIdentifier extends StringValueObject {
     super(value);
   }
 
+  private PetIdentifier(String value, Trusted trusted) {
+    super(value, trusted);
+  }
+
+  /**
+   * Returns the unique number of this identifier, i.e. the "NNNNNN" part.
+   */
+  public int getUniqueNumber() {
+    return readDigits(getPrimitive(), UNIQUE_INDEX, UNIQUE_LENGTH);
+  }
+
   @Override
   public int getMinLength() {
     return FIXED_LENGTH;
@@ -130,7 +213,13 @@ public class PetIdentifier extends StringValueObject {
 
   @Override
   protected void validateSyntax(String value) {
-    if (!PATTERN.matcher(value).matches()) {
+    // Equivalent to ^(\d{4})(\d{2})(\d{2})([12])(\d{6})(\d)$
+    boolean matches = value.length() == FIXED_LENGTH;
+    for (int i = 0; matches && i < FIXED_LENGTH; i++) {
+      char c = value.charAt(i);
+      matches = i == GENDER_INDEX ? c == '1' || c == '2' : c >= '0' && c <= '9';
+    }
+    if (!matches) {
       String message = String.format("PetIdentifier '%s' does not match the required format: YYYYmmddGNNNNNNC",
           StringUtils.truncate(value, FIXED_LENGTH + 5));
       throw new ValidationException(message);
@@ -140,8 +229,8 @@ public class PetIdentifier extends StringValueObject {
   @Override
   protected void validateSemantics(String value) {
     try {
-      validateDate(value.substring(0, 8));
-      validateGender(value.substring(8, 9));
+      validateDate(value);
+      validateGender(value);
       validateControlDigit(value);
     } catch (DateTimeException | IllegalArgumentException e) {
       throw new ValidationException("Invalid date or gender in PetIdentifier: " + value, e);
@@ -1,8 +1,8 @@
 package no.acntech.hexapetclinic.domain.model;
 
-import java.util.regex.Pattern;
+import lombok.NonNull;
 import no.acntech.hexapetclinic.domain.model.framework.StringValueObject;
-import no.acntech.hexapetclinic.utils.text.RegexValidator;
+import no.acntech.hexapetclinic.domain.model.framework.Trusted;
 import no.acntech.hexapetclinic.utils.validation.Validator;
 
 /**
@@ -14,18 +14,27 @@ public final class TelephoneNumber extends StringValueObject {
   public static final int MAX_LENGTH = 15; // Covers most international formats
 
   // Allows international (+123456789) and local (123-456-7890) numbers
-  private static final String TELEPHONE_REGEX = "^(\\+?[0-9]{1,4})?([ .-]?\\(?[0-9]{2,4}\\)?)?[ .-]?[0-9]{3,4}[ .-]?[0-9]{3,4}$";
-
-  private static final Validator<String> PATTERN_VALIDATOR = new RegexValidator(Pattern.compile(TELEPHONE_REGEX));
+  private static final Validator<String> SYNTAX_VALIDATOR = new TelephoneNumberSyntax();
 
   /**
-   * Factory method to create a new TelephoneNumber instance.
+   * Factory method to create a new TelephoneNumber instance, or return the canonical instance if the value has been interned, see
+   * {@link ValueObjectInterners}.
    *
    * @param value the telephone number as a string.
    * @return an instance of TelephoneNumber.
    */
   public static TelephoneNumber of(String value) {
-    return new TelephoneNumber(value);
+    return ValueObjectInterners.TELEPHONE_NUMBERS.intern(value);
+  }
+
+  /**
+   * Factory method to create a TelephoneNumber from an already validated value, without validating it again.
+   *
+   * @param value the telephone number as a string, already validated, e.g. when it was written to the database.
+   * @return an instance of TelephoneNumber.
+   */
+  public static TelephoneNumber ofTrusted(@NonNull String value) {
+    return new TelephoneNumber(value, Trusted.ALREADY_VALIDATED);
   }
 
   /**
@@ -37,6 +46,10 @@ public final class TelephoneNumber extends StringValueObject {
     super(value);
   }
 
+  private TelephoneNumber(String value, Trusted trusted) {
+    super(value, trusted);
+  }
+
   @Override
   public int getMinLength() {
     return MIN_LENGTH;
@@ -48,12 +61,12 @@ public final class TelephoneNumber extends StringValueObject {
   }
 
   /**
-   * Validates the syntax of the telephone number using a pre-defined regex pattern.
+   * Validates the syntax of the telephone number, see {@link TelephoneNumberSyntax}.
    *
    * @param value the telephone number as a string.
    */
   @Override
   public void validateSyntax(String value) {
-    PATTERN_VALIDATOR.validate(value);
+    SYNTAX_VALIDATOR.validate(value);
   }
 }
@@ -0,0 +1,165 @@
+package no.acntech.hexapetclinic.domain.model;
+
+import no.acntech.hexapetclinic.utils.text.StringUtils;
+import no.acntech.hexapetclinic.utils.validation.ValidationException;
+import no.acntech.hexapetclinic.utils.validation.Validator;
+
+/**
+ * Validates the syntax of telephone numbers with a hand-written scanner, accepting exactly the language of {@link #REGEX}.
+ * <p>
+ * The regular expression is ambiguous, e.g. where a run of digits ends and the next one begins, so a backtracking matcher may try many
+ * ways of splitting the input before giving up. The scanner instead tracks all the places in the number it may have reached at once,
+ * as a bit set of the states below, and moves all of them forward on each character. It therefore runs in time linear in the length of
+ * the input and allocates nothing.
+ * <p>
+ * The number consists of an optional country code ({@code \+?[0-9]{1,4}}), an optional area code ({@code [ .-]?\(?[0-9]{2,4}\)?}), an
+ * exchange ({@code [ .-]?[0-9]{3,4}}) and a line number ({@code [ .-]?[0-9]{3,4}}).
+ */
+public final class TelephoneNumberSyntax implements Validator<String> {
+
+  /**
+   * The language accepted by the scanner, as a regular expression. Only used to describe invalid telephone numbers.
+   */
+  public static final String REGEX = "^(\\+?[0-9]{1,4})?([ .-]?\\(?[0-9]{2,4}\\)?)?[ .-]?[0-9]{3,4}[ .-]?[0-9]{3,4}$";
+
+  private static final int TRUNCATE_MAX_LENGTH = 16;
+
+  // Character classes
+  private static final int DIGIT = 0;
+  private static final int PLUS = 1;
+  private static final int OPENING_PARENTHESIS = 2;
+  private static final int CLOSING_PARENTHESIS = 3;
+  private static final int SEPARATOR = 4;
+  private static final int OTHER = -1;
+  private static final int CHARACTER_CLASSES = 5;
+
+  // States, i.e. what has been read so far
+  private static final int START = 0;
+  private static final int COUNTRY_CODE_PLUS = 1;
+  private static final int COUNTRY_CODE_DIGITS = 2; // 1 to 4 digits: states 2 to 5
+  private static final int AREA_CODE_SEPARATOR = 6;
+  private static final int AREA_CODE_OPENING_PARENTHESIS = 7;
+  private static final int AREA_CODE_DIGITS = 8; // 1 to 4 digits: states 8 to 11
+  private static final int AREA_CODE_CLOSING_PARENTHESIS = 12;
+  private static final int EXCHANGE_SEPARATOR = 13;
+  private static final int EXCHANGE_DIGITS = 14; // 1 to 4 digits: states 14 to 17
+  private static final int LINE_NUMBER_SEPARATOR = 18;
+  private static final int LINE_NUMBER_DIGITS = 19; // 1 to 4 digits: states 19 to 22
+  private static final int STATES = 23;
+
+  private static final int ACCEPTING = bit(digits(LINE_NUMBER_DIGITS, 3)) | bit(digits(LINE_NUMBER_DIGITS, 4));
+
+  // The states reached from each state on each character class
+  private static final int[][] TRANSITIONS = new int[STATES][CHARACTER_CLASSES];
+
+  static {
+    add(START, PLUS, COUNTRY_CODE_PLUS);
+    add(START, DIGIT, digits(COUNTRY_CODE_DIGITS, 1));
+    addAreaCodeStart(START); // No country code
+
+    add(COUNTRY_CODE_PLUS, DIGIT, digits(COUNTRY_CODE_DIGITS, 1));
+    for (int count = 1; count <= 4; count++) {
+      addDigit(COUNTRY_CODE_DIGITS, count, 4);
+      addAreaCodeStart(digits(COUNTRY_CODE_DIGITS, count));
+    }
+
+    add(AREA_CODE_SEPARATOR, OPENING_PARENTHESIS, AREA_CODE_OPENING_PARENTHESIS);
+    add(AREA_CODE_SEPARATOR, DIGIT, digits(AREA_CODE_DIGITS, 1));
+    add(AREA_CODE_OPENING_PARENTHESIS, DIGIT, digits(AREA_CODE_DIGITS, 1));
+    for (int count = 1; count <= 4; count++) {
+      addDigit(AREA_CODE_DIGITS, count, 4);
+      if (count >= 2) {
+        add(digits(AREA_CODE_DIGITS, count), CLOSING_PARENTHESIS, AREA_CODE_CLOSING_PARENTHESIS);
+        addExchangeStart(digits(AREA_CODE_DIGITS, count));
+      }
+    }
+    addExchangeStart(AREA_CODE_CLOSING_PARENTHESIS);
+
+    add(EXCHANGE_SEPARATOR, DIGIT, digits(EXCHANGE_DIGITS, 1));
+    for (int count = 1; count <= 4; count++) {
+      addDigit(EXCHANGE_DIGITS, count, 4);
+      if (count >= 3) {
+        add(digits(EXCHANGE_DIGITS, count), SEPARATOR, LINE_NUMBER_SEPARATOR);
+        add(digits(EXCHANGE_DIGITS, count), DIGIT, digits(LINE_NUMBER_DIGITS, 1));
+      }
+    }
+
+    add(LINE_NUMBER_SEPARATOR, DIGIT, digits(LINE_NUMBER_DIGITS, 1));
+    for (int count = 1; count <= 4; count++) {
+      addDigit(LINE_NUMBER_DIGITS, count, 4);
+    }
+  }
+
+  /**
+   * Returns whether the given value is a syntactically valid telephone number.
+   *
+   * @param value the value to check.
+   * @return true if the value matches {@link #REGEX}, false otherwise.
+   */
+  public static boolean matches(String value) {
+    int states = bit(START);
+    for (int i = 0; i < value.length() && states != 0; i++) {
+      int characterClass = characterClassOf(value.charAt(i));
+      if (characterClass == OTHER) {
+        return false;
+      }
+      int next = 0;
+      for (int remaining = states; remaining != 0; remaining &= remaining - 1) {
+        next |= TRANSITIONS[Integer.numberOfTrailingZeros(remaining)][characterClass];
+      }
+      states = next;
+    }
+    return (states & ACCEPTING) != 0;
+  }
+
+  @Override
+  public void validate(String value) {
+    if (!matches(value)) {
+      throw new ValidationException("String '" + StringUtils.truncate(value, TRUNCATE_MAX_LENGTH, false, true)
+          + "' does not match the required regex pattern: " + REGEX);
+    }
+  }
+
+  private static int characterClassOf(char c) {
+    if (c >= '0' && c <= '9') {
+      return DIGIT;
+    }
+    return switch (c) {
+      case '+' -> PLUS;
+      case '(' -> OPENING_PARENTHESIS;
+      case ')' -> CLOSING_PARENTHESIS;
+      case ' ', '.', '-' -> SEPARATOR;
+      default -> OTHER;
+    };
+  }
+
+  private static void addAreaCodeStart(int state) {
+    add(state, SEPARATOR, AREA_CODE_SEPARATOR);
+    add(state, OPENING_PARENTHESIS, AREA_CODE_OPENING_PARENTHESIS);
+    add(state, DIGIT, digits(AREA_CODE_DIGITS, 1));
+    addExchangeStart(state); // No area code
+  }
+
+  private static void addExchangeStart(int state) {
+    add(state, SEPARATOR, EXCHANGE_SEPARATOR);
+    add(state, DIGIT, digits(EXCHANGE_DIGITS, 1));
+  }
+
+  private static void addDigit(int firstDigitState, int count, int maxCount) {
+    if (count < maxCount) {
+      add(digits(firstDigitState, count), DIGIT, digits(firstDigitState, count + 1));
+    }
+  }
+
+  private static void add(int from, int characterClass, int to) {
+    TRANSITIONS[from][characterClass] |= bit(to);
+  }
+
+  private static int digits(int firstDigitState, int count) {
+    return firstDigitState + count - 1;
+  }
+
+  private static int bit(int state) {
+    return 1 << state;
+  }
+}
@@ -0,0 +1,42 @@
+package no.acntech.hexapetclinic.domain.model;
+
+import java.util.List;
+import no.acntech.hexapetclinic.domain.model.framework.ValueObjectInterner;
+
+/**
+ * The interning caches behind the {@code of(...)} factory methods of the value objects created most often from external input. All of
+ * them are disabled until {@link #enableAll(long)} is called, typically by the application configuration at startup.
+ */
+public final class ValueObjectInterners {
+
+  public static final ValueObjectInterner<String, EmailAddress> EMAIL_ADDRESSES =
+      new ValueObjectInterner<>("emailAddress", EmailAddress::new);
+
+  public static final ValueObjectInterner<String, TelephoneNumber> TELEPHONE_NUMBERS =
+      new ValueObjectInterner<>("telephoneNumber", TelephoneNumber::new);
+
+  public static final ValueObjectInterner<String, PetIdentifier> PET_IDENTIFIERS =
+      new ValueObjectInterner<>("petIdentifier", PetIdentifier::new);
+
+  private static final List<ValueObjectInterner<String, ?>> ALL = List.of(EMAIL_ADDRESSES, TELEPHONE_NUMBERS, PET_IDENTIFIERS);
+
+  private ValueObjectInterners() {
+  }
+
+  public static List<ValueObjectInterner<String, ?>> all() {
+    return ALL;
+  }
+
+  /**
+   * Enables all interners, each interning up to the given number of value objects.
+   *
+   * @param maximumSize the maximum number of interned value objects per interner.
+   */
+  public static void enableAll(long maximumSize) {
+    ALL.forEach(interner -> interner.enable(maximumSize));
+  }
+
+  public static void disableAll() {
+    ALL.forEach(ValueObjectInterner::disable);
+  }
+}
@@ -2,6 +2,7 @@ package no.acntech.hexapetclinic.domain.model;
 
 import java.time.Instant;
 import no.acntech.hexapetclinic.domain.model.framework.Entity;
+import no.acntech.hexapetclinic.domain.model.framework.Versioned;
 
 /**
  * Represents a visit for a pet in the domain model. A visit is associated with a specific pet
@@ -16,7 +17,7 @@ import no.acntech.hexapetclinic.domain.model.framework.Entity;
  * Implementations of this interface are expected to provide the necessary behavior
  * for managing pet visits within the domain context.
  */
-public interface Visit extends Entity<Long> {
+public interface Visit extends Entity<Long>, Versioned {
 
   Pet getPet();
 
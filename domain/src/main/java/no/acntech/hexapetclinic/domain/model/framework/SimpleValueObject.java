@@ -29,6 +29,17 @@ public class SimpleValueObject<P extends Comparable<P>> implements PrimitiveValu
     this.primitive = primitive;
   }
 
+  /**
+   * Protected constructor for primitives that have already been validated, e.g. read back from the database where they were validated
+   * when written. Neither range validation nor {@link #validate} is performed.
+   *
+   * @param primitive the already validated primitive value.
+   * @param trusted   marks the primitive as already validated.
+   */
+  protected SimpleValueObject(@NonNull P primitive, @NonNull Trusted trusted) {
+    this.primitive = primitive;
+  }
+
   /**
    * Validates the primitive value given in the constructor - throws a (subclass of) {@link RuntimeException} (possibly an
    * {@link IllegalArgumentException} or {@link ValidationException} if the primitive is invalid. The default implementation does nothing.
@@ -93,6 +104,13 @@ public class SimpleValueObject<P extends Comparable<P>> implements PrimitiveValu
   }
 
   private void validateRange(P value) {
-    new RangeValidator<>(getInclusiveMin(), getExclusiveMin(), getInclusiveMax(), getExclusiveMax()).validate(value);
+    P inclusiveMin = getInclusiveMin();
+    P exclusiveMin = getExclusiveMin();
+    P inclusiveMax = getInclusiveMax();
+    P exclusiveMax = getExclusiveMax();
+    if (inclusiveMin == null && exclusiveMin == null && inclusiveMax == null && exclusiveMax == null) {
+      return; // Most value objects have no range, so skip creating a validator for every instance
+    }
+    new RangeValidator<>(inclusiveMin, exclusiveMin, inclusiveMax, exclusiveMax).validate(value);
   }
 }
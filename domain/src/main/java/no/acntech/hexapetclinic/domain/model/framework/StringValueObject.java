@@ -29,6 +29,10 @@ public class StringValueObject extends SimpleValueObject<String> {
     super(value);
   }
 
+  protected StringValueObject(@NonNull String value, @NonNull Trusted trusted) {
+    super(value, trusted);
+  }
+
   @Override
   protected final void validate(String value) {
     validateLength(value);
@@ -84,6 +88,9 @@ public class StringValueObject extends SimpleValueObject<String> {
 
   private void validateLength(String value) {
     int length = value.length();
+    if (length >= getMinLength() && length <= getMaxLength()) {
+      return; // Only build the message arguments when the length is invalid
+    }
 
     inclusiveBetween(getMinLength(), getMaxLength(), length, "Length of [%s] must be between [%s] and [%s], but was [%s]",
         StringUtils.truncate(value, TRUNCATE_LENGTH, false, true), getMinLength(), getMaxLength(), length);
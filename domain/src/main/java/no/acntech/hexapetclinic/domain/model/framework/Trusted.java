@@ -0,0 +1,11 @@
+package no.acntech.hexapetclinic.domain.model.framework;
+
+/**
+ * Marks a primitive handed to a {@link SimpleValueObject} as already validated, so it is not validated again.
+ * <p>
+ * Only meant for primitives that have been validated before, typically values read back from the database that were validated when
+ * they were written. Anything coming from outside the application must go through the validating constructors and factory methods.
+ */
+public enum Trusted {
+  ALREADY_VALIDATED
+}
@@ -0,0 +1,114 @@
+package no.acntech.hexapetclinic.domain.model.framework;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Optional, bounded interning cache of value objects, keyed by their primitive value.
+ * <p>
+ * Meant to sit behind the validating factory methods of value objects that are created from the same primitives over and over again,
+ * such as identifiers arriving on every lookup. When enabled, a primitive that has been validated before is served the canonical
+ * instance created the first time, without allocating a new value object and without validating the primitive again. Primitives that
+ * fail validation are never cached, so they are rejected on every call.
+ * <p>
+ * Interning is disabled until {@link #enable(long)} is called, in which case every call is passed straight to the factory. The cache is
+ * concurrent and evicts the least recently used entries beyond its maximum size. Value objects are immutable, so handing the same instance
+ * to concurrent callers is safe; two threads interning the same primitive at the same time may both create an instance, and the last one
+ * written becomes the canonical instance.
+ *
+ * @param <P> the type of the primitive value.
+ * @param <T> the type of the value object.
+ */
+public final class ValueObjectInterner<P, T extends PrimitiveValueObject<?>> {
+
+  @Getter
+  private final String name;
+  private final Function<P, T> factory;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private volatile Cache<P, T> cache; // null while disabled
+
+  /**
+   * Creates a disabled interner.
+   *
+   * @param name    the name of the interner, e.g. used to tag its metrics.
+   * @param factory the validating factory creating a value object from its primitive value.
+   */
+  public ValueObjectInterner(@NonNull String name, @NonNull Function<P, T> factory) {
+    this.name = name;
+    this.factory = factory;
+  }
+
+  /**
+   * Returns the canonical value object for the given primitive, creating (and validating) it with the factory on a miss.
+   *
+   * @param primitive the primitive value.
+   * @return the value object.
+   */
+  public T intern(P primitive) {
+    Cache<P, T> current = cache;
+    if (current == null || primitive == null) {
+      return factory.apply(primitive);
+    }
+
+    T interned = current.getIfPresent(primitive);
+    if (interned != null) {
+      hits.increment();
+      return interned;
+    }
+
+    misses.increment();
+    T created = factory.apply(primitive); // Throws on invalid primitives, which are therefore never cached
+    current.put(primitive, created);
+    return created;
+  }
+
+  /**
+   * Enables interning of up to the given number of value objects, replacing (and emptying) any current cache.
+   *
+   * @param maximumSize the maximum number of interned value objects.
+   */
+  public void enable(long maximumSize) {
+    cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .build();
+  }
+
+  /**
+   * Disables interning and drops all interned value objects.
+   */
+  public void disable() {
+    cache = null;
+  }
+
+  public boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * Returns the number of calls served an already interned value object.
+   */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of calls, made while interning was enabled, that had to create a new value object.
+   */
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the approximate number of interned value objects.
+   */
+  public long size() {
+    Cache<P, T> current = cache;
+    return current == null ? 0 : current.size();
+  }
+}
@@ -0,0 +1,13 @@
+package no.acntech.hexapetclinic.domain.model.framework;
+
+/**
+ * Versioned is implemented by mutable entities whose changes are guarded by optimistic locking. The version is incremented on every
+ * change of the entity, and a change based on an outdated version is rejected instead of silently overwriting a concurrent change.
+ */
+public interface Versioned {
+
+  /**
+   * Returns the version of the entity, or {@code null} if the entity has not been persisted yet.
+   */
+  Long getVersion();
+}
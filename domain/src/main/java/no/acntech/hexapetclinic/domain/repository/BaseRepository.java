@@ -41,6 +41,15 @@ public interface BaseRepository<T extends Entity<ID>, ID> {
    */
   List<T> findAll();
 
+  /**
+   * Retrieves a page of entities using keyset (seek) pagination on the identifier. Entities are returned in ascending identifier
+   * order, starting right after the given identifier, so the cost of fetching a page does not depend on how deep the client pages.
+   *
+   * @param after the identifier of the last entity of the previous page, or null to fetch the first page
+   * @param limit the maximum number of entities to return; must be positive
+   * @return a List containing at most {@code limit} entities of type T, ordered by identifier.
+   */
+  List<T> findAllAfter(ID after, int limit);
 
   /**
    * Saves the given entity and returns the saved instance.
@@ -50,6 +59,15 @@ public interface BaseRepository<T extends Entity<ID>, ID> {
    */
   T save(@NonNull T entity);
 
+  /**
+   * Saves all the given entities and returns the saved instances, in the same order. Implementations may write the entities in batches,
+   * so this should be preferred over repeated calls to {@link #save(Entity)} when saving many entities at once.
+   *
+   * @param entities the entities to be saved; must not be null
+   * @return the saved entities
+   */
+  List<T> saveAll(@NonNull List<T> entities);
+
   /**
    * Deletes an entity with the specified ID from the repository.
    *
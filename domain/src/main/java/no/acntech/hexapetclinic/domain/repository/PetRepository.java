@@ -1,7 +1,11 @@
 package no.acntech.hexapetclinic.domain.repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import lombok.NonNull;
+import no.acntech.hexapetclinic.domain.model.DescriptionStatus;
+import no.acntech.hexapetclinic.domain.model.Gender;
 import no.acntech.hexapetclinic.domain.model.Pet;
 import no.acntech.hexapetclinic.domain.model.PetIdentifier;
 
@@ -26,4 +30,25 @@ public interface PetRepository extends BaseRepository<Pet, Long> {
   @NonNull
   List<Pet> findByName(@NonNull String name);
 
+  /**
+   * Finds the highest pet identifier issued for pets born on the given date with the given gender, among those with a unique number
+   * between {@link PetIdentifier#MIN_UNIQUE} and {@link PetIdentifier#MAX_UNIQUE}. Identifiers with a unique number above the range
+   * may be stored, but are never allocated, and are left out.
+   *
+   * @param birthDate the birth date of the pets; must not be null
+   * @param gender    the gender of the pets; must not be null
+   * @return the identifier with the highest unique number, or empty if no such pet is registered
+   */
+  @NonNull
+  Optional<PetIdentifier> findHighestIdentifier(@NonNull LocalDate birthDate, @NonNull Gender gender);
+
+  /**
+   * Finds the ids of the pets whose description has the given status, e.g. to resume the enhancements still pending.
+   *
+   * @param descriptionStatus the status of the descriptions; must not be null
+   * @return the ids of the pets, in ascending order, or an empty list if no pet has a description with the given status
+   */
+  @NonNull
+  List<Long> findIdsByDescriptionStatus(@NonNull DescriptionStatus descriptionStatus);
+
 }
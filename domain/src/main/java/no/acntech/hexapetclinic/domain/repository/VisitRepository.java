@@ -1,6 +1,8 @@
 package no.acntech.hexapetclinic.domain.repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import no.acntech.hexapetclinic.domain.model.PetIdentifier;
 import no.acntech.hexapetclinic.domain.model.Visit;
@@ -12,6 +14,8 @@ import no.acntech.hexapetclinic.domain.model.Visit;
  *
  * Responsibilities of VisitRepository include:
  * - Retrieving a list of visits associated with a specific pet ID.
+ * - Retrieving the visits of a pet within a time range, one page at a time in time order.
+ * - Streaming all visits, for exports that must not hold the complete result in memory.
  *
  * This repository operates in the domain layer and is meant to be implemented
  * using various persistence mechanisms. Typically, implementations delegate to
@@ -21,4 +25,39 @@ public interface VisitRepository extends BaseRepository<Visit, Long> {
 
   List<Visit> findByPetIdentifier(@NonNull PetIdentifier petIdentifier);
 
+  /**
+   * Retrieves a page of the visits of a pet within a time range, in ascending time order. Visits at the same time are ordered by
+   * identifier, so the order is total and the visits can be paged through by seeking past the last visit of the previous page.
+   *
+   * @param petIdentifier the identifier of the pet
+   * @param from          the earliest time of the visits to return (inclusive)
+   * @param to            the latest time of the visits to return (exclusive)
+   * @param after         the identifier of the last visit of the previous page, or null to fetch the first page
+   * @param limit         the maximum number of visits to return; must be positive
+   * @return a List containing at most {@code limit} visits of the pet, ordered by time and identifier
+   */
+  List<Visit> findByPetIdentifierAndTimeRange(
+      @NonNull PetIdentifier petIdentifier, @NonNull Instant from, @NonNull Instant to, Long after, int limit);
+
+  /**
+   * Checks whether the visit with the given identifier is a visit of the given pet, e.g. to validate a cursor paging through the
+   * visits of the pet.
+   *
+   * @param id            the identifier of the visit
+   * @param petIdentifier the identifier of the pet
+   * @return true if the visit exists and is a visit of the pet, false otherwise
+   */
+  boolean existsByIdAndPetIdentifier(@NonNull Long id, @NonNull PetIdentifier petIdentifier);
+
+  /**
+   * Streams all visits in ascending identifier order. The visits are read lazily from the underlying store and are not retained after
+   * they have been passed down the stream, so memory use does not grow with the number of visits.
+   * <p>
+   * The returned stream holds on to database resources. It must be consumed within a transaction and closed after use, preferably
+   * with a try-with-resources block.
+   *
+   * @return a Stream of all visits
+   */
+  Stream<Visit> streamAll();
+
 }
\ No newline at end of file
@@ -2,11 +2,18 @@ package no.acntech.hexapetclinic.domain.service;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import no.acntech.hexapetclinic.domain.connector.PetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.connector.AsyncPetDescriptionEnhancer;
 import no.acntech.hexapetclinic.domain.factory.OwnerFactory;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
 import no.acntech.hexapetclinic.domain.factory.VisitFactory;
 import no.acntech.hexapetclinic.domain.model.*;
 import no.acntech.hexapetclinic.domain.repository.EntityNotFoundException;
@@ -22,21 +29,26 @@ import no.acntech.hexapetclinic.domain.repository.VisitRepository;
  * Responsibilities:
  * - Registering new owners, including their personal information such as name, address, contact details, etc.
  * - Registering new pets under an existing owner, including detailed attributes like type, breed, gender, birthdate,
- *   and an enhanced description.
- * - Registering visits for pets, including visit time and description.
+ *   and a description that is enhanced separately, after the registration has completed.
+ * - Registering visits for pets, including visit time and description, either one at a time or in bulk.
  *
  * Dependencies:
  * - OwnerFactory: Used to construct new instances of {@link Owner}.
  * - VisitFactory: Used to create new instances of {@link Visit}.
+ * - PetIdentifierAllocator: Allocates the {@link PetIdentifier} of newly registered pets.
  * - PetRepository: Handles persistence operations for {@link Pet} entities.
  * - OwnerRepository: Handles persistence operations for {@link Owner} entities.
  * - VisitRepository: Handles persistence operations for {@link Visit} entities.
- * - PetDescriptionEnhancer: Enhances pet descriptions based on type, breed, and context.
+ * - AsyncPetDescriptionEnhancer: Enhances pet descriptions based on type, breed, and context.
  *
  * Key methods:
  * - {@code registerOwner}: Creates and persists a new owner in the repository.
- * - {@code registerPet}: Adds a new pet under an existing owner and persists it in the repository after enhancing its description.
+ * - {@code registerPet}: Adds a new pet under an existing owner and persists it in the repository, with its description pending
+ *   enhancement.
+ * - {@code enhancePetDescription}: Enhances the description of a registered pet and writes it back to the repository.
+ * - {@code abandonPetDescriptionEnhancement}: Keeps the original description of a pet whose enhancement will not take place.
  * - {@code registerVisit}: Records a new visit for a pet and persists it in the repository.
+ * - {@code registerVisits}: Records many visits at once and persists them in batches.
  */
 @RequiredArgsConstructor
 @Slf4j
@@ -44,12 +56,13 @@ public class RegistrationService {
 
   private final OwnerFactory ownerFactory;
   private final VisitFactory visitFactory;
+  private final PetIdentifierAllocator petIdentifierAllocator;
 
   private final PetRepository petRepository;
   private final OwnerRepository ownerRepository;
   private final VisitRepository visitRepository;
 
-  private final PetDescriptionEnhancer descrEnhancer;
+  private final AsyncPetDescriptionEnhancer descrEnhancer;
 
   /**
    * Registers a new owner by creating an Owner object with the provided details
@@ -87,7 +100,8 @@ public class RegistrationService {
   /**
    * Registers a new pet under a specified owner.
    * This method creates a new pet instance and associates it with an owner.
-   * The provided description can be enhanced based on the pet's type and breed.
+   * The provided description is stored as is, with status {@link DescriptionStatus#PENDING}. It is meant to be enhanced afterwards
+   * through {@link #enhancePetDescription(Long)}, so the registration does not wait for the enhancer.
    *
    * @param name the name of the pet; must not be null
    * @param type the type of the pet (e.g., DOG, CAT); must not be null
@@ -112,22 +126,123 @@ public class RegistrationService {
   ) {
     Owner owner = ownerRepository.findByIdOrElseThrow(ownerId);
 
-    log.debug("Enhancing description for pet type: {}, breed: {}", type, breed);
-    description = descrEnhancer.enhanceDescription(type, breed, description);
-    log.debug("Enhanced description: {}\n\n", description);
-
     Pet newPet = owner.registerPet(
+        petIdentifierAllocator.allocate(birthDate, gender),
         name,
         type,
         breed,
         gender,
         birthDate,
         description
-    );
+    ).changeDescriptionStatus(DescriptionStatus.PENDING);
 
     return petRepository.save(newPet);
   }
 
+  /**
+   * Enhances the description of a registered pet based on its type and breed, and writes the result back to the repository.
+   * <p>
+   * The enhancer may be slow, so this method should not be called within a transaction: the pet is read and written in separate,
+   * short repository operations, and no database connection is held while the enhancer runs. Pets whose description is not pending
+   * enhancement are left untouched.
+   *
+   * @param petId the unique identifier of the pet whose description should be enhanced; must not be null
+   * @return the pet, with its enhanced description if the enhancement took place
+   * @throws EntityNotFoundException if the pet with the given petId does not exist
+   */
+  @NonNull
+  public Pet enhancePetDescription(@NonNull Long petId) {
+    return enhancePetDescription(petRepository.findByIdOrElseThrow(petId));
+  }
+
+  /**
+   * Enhances the description of a registered pet, like {@link #enhancePetDescription(Long)}, given the type, breed and description the
+   * pet was registered with.
+   * <p>
+   * The enhancement is started before the pet is read, so the call to the enhancer overlaps the database round trip. If the pet has
+   * changed since it was registered, the started enhancement is abandoned and the current description is enhanced instead.
+   *
+   * @param petId       the unique identifier of the pet whose description should be enhanced; must not be null
+   * @param petType     the type the pet was registered with; must not be null
+   * @param breed       the breed the pet was registered with; must not be null
+   * @param description the description the pet was registered with
+   * @return the pet, with its enhanced description if the enhancement took place
+   * @throws EntityNotFoundException if the pet with the given petId does not exist
+   */
+  @NonNull
+  public Pet enhancePetDescription(@NonNull Long petId, @NonNull PetType petType, @NonNull String breed, String description) {
+    log.debug("Enhancing description for pet type: {}, breed: {}", petType, breed);
+    CompletableFuture<String> enhancement = descrEnhancer.enhanceDescriptionAsync(petType, breed, description);
+    Pet pet;
+    try {
+      pet = petRepository.findByIdOrElseThrow(petId);
+    } catch (RuntimeException e) {
+      enhancement.cancel(true);
+      throw e;
+    }
+
+    if (pet.getDescriptionStatus() != DescriptionStatus.PENDING
+        || pet.getType() != petType
+        || !pet.getBreed().equals(breed)
+        || !Objects.equals(pet.getDescription(), description)) {
+      enhancement.cancel(true);
+      return enhancePetDescription(pet);
+    }
+    return applyEnhancement(pet, await(enhancement));
+  }
+
+  /**
+   * Abandons the enhancement of the description of a registered pet, keeping its original description. Used when the enhancement
+   * cannot be carried out, so that the description does not stay pending enhancement. Pets whose description is not pending
+   * enhancement are left untouched.
+   *
+   * @param petId the unique identifier of the pet whose description should not be enhanced; must not be null
+   * @return the pet
+   * @throws EntityNotFoundException if the pet with the given petId does not exist
+   */
+  @NonNull
+  public Pet abandonPetDescriptionEnhancement(@NonNull Long petId) {
+    Pet pet = petRepository.findByIdOrElseThrow(petId);
+    if (pet.getDescriptionStatus() != DescriptionStatus.PENDING) {
+      return pet;
+    }
+    pet.changeDescriptionStatus(DescriptionStatus.ORIGINAL);
+    return petRepository.save(pet);
+  }
+
+  private Pet enhancePetDescription(Pet pet) {
+    if (pet.getDescriptionStatus() != DescriptionStatus.PENDING) {
+      log.debug("Description of pet {} is {}, skipping enhancement", pet.getId(), pet.getDescriptionStatus());
+      return pet;
+    }
+
+    log.debug("Enhancing description for pet type: {}, breed: {}", pet.getType(), pet.getBreed());
+    return applyEnhancement(pet, descrEnhancer.enhanceDescription(pet.getType(), pet.getBreed(), pet.getDescription()));
+  }
+
+  private Pet applyEnhancement(Pet pet, String enhancedDescription) {
+    log.debug("Enhanced description: {}\n\n", enhancedDescription);
+    if (enhancedDescription == null || enhancedDescription.isBlank() || enhancedDescription.equals(pet.getDescription())) {
+      pet.changeDescriptionStatus(DescriptionStatus.ORIGINAL);
+    } else {
+      pet.changeDescription(enhancedDescription)
+          .changeDescriptionStatus(DescriptionStatus.ENHANCED);
+    }
+    return petRepository.save(pet);
+  }
+
+  private static String await(CompletableFuture<String> enhancement) {
+    try {
+      return enhancement.join();
+    } catch (CompletionException e) {
+      // Rethrow what the enhancer threw, not the future's wrapper
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
   /**
    * Registers a new visit for a given pet.
    *
@@ -149,4 +264,38 @@ public class RegistrationService {
     return visitRepository.save(visit);
   }
 
-}
\ No newline at end of file
+  /**
+   * Registers many visits at once, e.g. when synchronizing an offline visit log. Each distinct pet is looked up only once, and the
+   * visits are handed to the repository as a whole, allowing it to write them in batches.
+   *
+   * @param registrations the visits to register; must not be null
+   * @return the saved instances of the registered visits, in the same order as the registrations; never null
+   */
+  @NonNull
+  public List<Visit> registerVisits(@NonNull List<VisitRegistration> registrations) {
+    Map<String, Pet> petsByIdentifier = new HashMap<>();
+
+    List<Visit> visits = registrations.stream()
+        .map(registration -> visitFactory.createVisit(
+            petsByIdentifier.computeIfAbsent(registration.petIdentifier(),
+                petIdentifier -> petRepository.findByIdentifier(PetIdentifier.of(petIdentifier))),
+            registration.time(),
+            registration.description()
+        ))
+        .toList();
+
+    return visitRepository.saveAll(visits);
+  }
+
+  /**
+   * A single visit to be registered by {@link #registerVisits(List)}.
+   *
+   * @param petIdentifier the unique identifier of the pet for whom the visit is being registered; must not be null
+   * @param time the timestamp of the visit; must not be null
+   * @param description the description or reason for the visit; must not be null
+   */
+  public record VisitRegistration(@NonNull String petIdentifier, @NonNull Instant time, @NonNull String description) {
+
+  }
+
+}
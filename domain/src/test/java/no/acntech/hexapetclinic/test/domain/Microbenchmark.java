@@ -0,0 +1,77 @@
+package no.acntech.hexapetclinic.test.domain;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Measures the time and the bytes allocated per operation of micro-benchmarks, on the current thread after a warm-up.
+ * <p>
+ * The bytes are counted by {@link ThreadMXBean#getCurrentThreadAllocatedBytes()}, so an operation must run on the calling thread. The
+ * values returned by the operations are combined into a result, so the JIT cannot drop the operations.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Microbenchmark {
+
+    private static volatile int sink;
+
+    /**
+     * Runs the operation the given number of times to warm up, then measures it over the given number of operations.
+     *
+     * @param warmupOperations   the number of operations run before measuring
+     * @param measuredOperations the number of operations measured
+     * @param operation          the operation, called with the index of each operation
+     * @return the time and the bytes allocated per measured operation
+     * @throws Exception if an operation fails
+     */
+    public static Result measure(int warmupOperations, int measuredOperations, @NonNull Operation operation) throws Exception {
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int result = run(operation, warmupOperations);
+
+        long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        result += run(operation, measuredOperations);
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        sink = result;
+        return new Result((double) elapsed / measuredOperations, (double) allocated / measuredOperations);
+    }
+
+    private static int run(Operation operation, int operations) throws Exception {
+        int result = 0;
+        for (int i = 0; i < operations; i++) {
+            result += operation.run(i);
+        }
+        return result;
+    }
+
+    /**
+     * An operation of a micro-benchmark.
+     */
+    @FunctionalInterface
+    public interface Operation {
+
+        /**
+         * Runs the operation.
+         *
+         * @param index the index of the operation, e.g. to pick one of several inputs
+         * @return any value derived from the result of the operation
+         * @throws Exception if the operation fails
+         */
+        int run(int index) throws Exception;
+    }
+
+    /**
+     * The time and the bytes allocated per operation.
+     */
+    public record Result(double nanosPerOperation, double bytesPerOperation) {
+
+        @Override
+        public String toString() {
+            return String.format("%.1f ns/op, %.0f bytes/op", nanosPerOperation, bytesPerOperation);
+        }
+    }
+}
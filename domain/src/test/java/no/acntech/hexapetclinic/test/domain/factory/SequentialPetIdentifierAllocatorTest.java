@@ -0,0 +1,146 @@
+package no.acntech.hexapetclinic.test.domain.factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.DomainException;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.factory.SequentialPetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.model.Gender;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.repository.PetRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class SequentialPetIdentifierAllocatorTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(2024, 3, 12);
+
+    private static final int THREADS = 16;
+    private static final int ALLOCATIONS_PER_THREAD = 5_000;
+
+    private final PetRepository petRepository = mock(PetRepository.class);
+
+    @Test
+    void shouldContinueAfterHighestStoredIdentifier() {
+        when(petRepository.findHighestIdentifier(BIRTH_DATE, Gender.FEMALE))
+                .thenReturn(Optional.of(PetIdentifier.generate(2024, 3, 12, Gender.FEMALE, 41)));
+        when(petRepository.findHighestIdentifier(BIRTH_DATE, Gender.MALE)).thenReturn(Optional.empty());
+        PetIdentifierAllocator allocator = new SequentialPetIdentifierAllocator(petRepository);
+
+        assertEquals(42, allocator.allocate(BIRTH_DATE, Gender.FEMALE).getUniqueNumber());
+        assertEquals(43, allocator.allocate(BIRTH_DATE, Gender.FEMALE).getUniqueNumber());
+        assertEquals(1, allocator.allocate(BIRTH_DATE, Gender.MALE).getUniqueNumber());
+    }
+
+    @Test
+    void shouldIgnoreStoredIdentifierAboveMaxUnique() {
+        // Like the identifiers of the sample data, e.g. 2020061511234568 with unique number 123456
+        when(petRepository.findHighestIdentifier(BIRTH_DATE, Gender.MALE))
+                .thenReturn(Optional.of(PetIdentifier.of("2024031211234561")));
+        PetIdentifierAllocator allocator = new SequentialPetIdentifierAllocator(petRepository);
+
+        assertEquals(1, allocator.allocate(BIRTH_DATE, Gender.MALE).getUniqueNumber());
+        assertEquals(2, allocator.allocate(BIRTH_DATE, Gender.MALE).getUniqueNumber());
+    }
+
+    @Test
+    void shouldFailWhenAllUniqueNumbersAreTaken() {
+        when(petRepository.findHighestIdentifier(BIRTH_DATE, Gender.MALE))
+                .thenReturn(Optional.of(PetIdentifier.generate(2024, 3, 12, Gender.MALE, PetIdentifier.MAX_UNIQUE)));
+        PetIdentifierAllocator allocator = new SequentialPetIdentifierAllocator(petRepository);
+
+        assertThrows(DomainException.class, () -> allocator.allocate(BIRTH_DATE, Gender.MALE));
+    }
+
+    @Test
+    void shouldNeverAllocateSameIdentifierConcurrently() throws Exception {
+        when(petRepository.findHighestIdentifier(any(), any())).thenReturn(Optional.empty());
+        PetIdentifierAllocator allocator = new SequentialPetIdentifierAllocator(petRepository);
+        // Few buckets, so the threads contend on both the seeding and the counters
+        List<LocalDate> birthDates = List.of(BIRTH_DATE, BIRTH_DATE.plusDays(1));
+
+        Set<PetIdentifier> allocated = ConcurrentHashMap.newKeySet();
+        Map<String, Integer> allocatedPerBucket = new ConcurrentHashMap<>();
+        runConcurrently(() -> {
+            for (int i = 0; i < ALLOCATIONS_PER_THREAD; i++) {
+                LocalDate birthDate = birthDates.get(i % birthDates.size());
+                Gender gender = Gender.values()[(i / birthDates.size()) % 2];
+                PetIdentifier identifier = allocator.allocate(birthDate, gender);
+                allocated.add(identifier);
+                allocatedPerBucket.merge(PetIdentifier.prefixOf(birthDate, gender), 1, Integer::sum);
+            }
+        });
+
+        assertEquals(THREADS * ALLOCATIONS_PER_THREAD, allocated.size(), "Every allocated identifier should be unique");
+        // No unique number is skipped either
+        allocatedPerBucket.forEach((prefix, count) -> assertEquals(count, allocated.stream()
+                .filter(identifier -> identifier.getPrimitive().startsWith(prefix))
+                .mapToInt(PetIdentifier::getUniqueNumber)
+                .max().orElseThrow()));
+    }
+
+    /**
+     * Compares the throughput of the allocator with the random {@link PetIdentifier#generate(int, int, int, Gender)}. The numbers
+     * vary between machines and are only logged, and the benchmark is left out of the default build.
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkAgainstRandomGeneration() throws Exception {
+        when(petRepository.findHighestIdentifier(any(), any())).thenReturn(Optional.empty());
+        PetIdentifierAllocator allocator = new SequentialPetIdentifierAllocator(petRepository);
+
+        // Warm up both before measuring
+        measure(() -> allocator.allocate(BIRTH_DATE, Gender.MALE));
+        measure(() -> PetIdentifier.generate(2024, 3, 12, Gender.MALE));
+
+        PetIdentifierAllocator measuredAllocator = new SequentialPetIdentifierAllocator(petRepository);
+        double allocatorThroughput = measure(() -> measuredAllocator.allocate(BIRTH_DATE.plusDays(1), Gender.FEMALE));
+        double randomThroughput = measure(() -> PetIdentifier.generate(2024, 3, 13, Gender.FEMALE));
+
+        log.info("Sequential allocation: {} identifiers/s", Math.round(allocatorThroughput));
+        log.info("Random generation: {} identifiers/s", Math.round(randomThroughput));
+    }
+
+    private double measure(Supplier<PetIdentifier> generator) throws Exception {
+        // Stays below the number of unique numbers per bucket
+        int perThread = PetIdentifier.MAX_UNIQUE / THREADS / 2;
+        long start = System.nanoTime();
+        runConcurrently(() -> IntStream.range(0, perThread).forEach(i -> generator.get()));
+        return THREADS * perThread / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private void runConcurrently(Runnable work) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<Object>> futures = IntStream.range(0, THREADS)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        work.run();
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+        }
+    }
+}
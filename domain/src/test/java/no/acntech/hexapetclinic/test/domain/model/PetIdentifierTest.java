@@ -2,6 +2,10 @@ package no.acntech.hexapetclinic.test.domain.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
 import no.acntech.hexapetclinic.domain.model.Gender;
 import no.acntech.hexapetclinic.domain.model.PetIdentifier;
@@ -90,4 +94,84 @@ class PetIdentifierTest {
                 PetIdentifier.generate(2023, 2, 29, Gender.FEMALE, 54321));
         assertTrue(exception.getMessage().contains("Invalid date"));
     }
+
+    @Test
+    void shouldAcceptExactlyTheIdentifiersMatchingFormatDateAndControlDigit() {
+        Random random = new Random(42);
+        String alphabet = "0123456789012345678901234567890123456789X -";
+        for (int i = 0; i < 200_000; i++) {
+            String value = i % 2 == 0
+                    ? randomString(random, alphabet)
+                    : withValidControlDigit(randomString(random, "0123456789"));
+            Class<? extends Exception> expected = referenceValidationFailure(value);
+            Class<? extends Exception> actual = null;
+            try {
+                PetIdentifier.of(value);
+            } catch (Exception e) {
+                actual = e.getClass();
+            }
+            assertEquals(expected, actual, "Unexpected outcome for '" + value + "'");
+        }
+    }
+
+    @Test
+    void shouldGenerateSameIdentifiersAsFormatting() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            LocalDate birthDate = LocalDate.of(1900, 1, 1).plusDays(random.nextInt(100 * 366));
+            Gender gender = Gender.values()[random.nextInt(2)];
+            int uniqueNumber = random.nextInt(PetIdentifier.MAX_UNIQUE) + 1;
+            String baseId = String.format("%04d%02d%02d%d%06d",
+                    birthDate.getYear(), birthDate.getMonthValue(), birthDate.getDayOfMonth(), gender.getCode(), uniqueNumber);
+
+            PetIdentifier petIdentifier = PetIdentifier.generate(
+                    birthDate.getYear(), birthDate.getMonthValue(), birthDate.getDayOfMonth(), gender, uniqueNumber);
+
+            assertEquals(baseId + referenceControlDigit(baseId), petIdentifier.getPrimitive());
+            assertEquals(uniqueNumber, petIdentifier.getUniqueNumber());
+        }
+    }
+
+    private static String randomString(Random random, String alphabet) {
+        char[] chars = new char[PetIdentifier.FIXED_LENGTH];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        // Mostly valid genders, so the date and control digit checks are reached
+        if (random.nextInt(10) > 0) {
+            chars[8] = random.nextBoolean() ? '1' : '2';
+        }
+        return new String(chars);
+    }
+
+    private static String withValidControlDigit(String value) {
+        String baseId = value.substring(0, 15);
+        return baseId + referenceControlDigit(baseId);
+    }
+
+    // The validation as originally written, with a regular expression and java.time
+    private static Class<? extends Exception> referenceValidationFailure(String value) {
+        if (!Pattern.matches("^(\\d{4})(\\d{2})(\\d{2})([12])(\\d{6})(\\d)$", value)) {
+            return ValidationException.class;
+        }
+        try {
+            LocalDate.of(Integer.parseInt(value.substring(0, 4)), Integer.parseInt(value.substring(4, 6)),
+                    Integer.parseInt(value.substring(6, 8)));
+        } catch (DateTimeException e) {
+            return ValidationException.class;
+        }
+        int expected = referenceControlDigit(value.substring(0, 15));
+        return Character.getNumericValue(value.charAt(15)) == expected ? null : ValidationException.class;
+    }
+
+    private static int referenceControlDigit(String baseId) {
+        int sum = 0;
+        int weight = 2;
+        for (int i = baseId.length() - 1; i >= 0; i--) {
+            sum += Character.getNumericValue(baseId.charAt(i)) * weight;
+            weight = (weight == 7) ? 2 : weight + 1;
+        }
+        int mod = sum % 11;
+        return (mod == 10) ? 0 : mod;
+    }
 }
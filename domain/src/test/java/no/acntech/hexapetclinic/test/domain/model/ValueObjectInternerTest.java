@@ -0,0 +1,86 @@
+package no.acntech.hexapetclinic.test.domain.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import no.acntech.hexapetclinic.domain.model.Gender;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.model.ValueObjectInterners;
+import no.acntech.hexapetclinic.domain.model.framework.ValueObjectInterner;
+import no.acntech.hexapetclinic.utils.validation.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ValueObjectInternerTest {
+
+    private static final String VALID_IDENTIFIER = PetIdentifier.generate(2024, 3, 12, Gender.MALE, 12345).getPrimitive();
+    private static final String INVALID_IDENTIFIER = "2024031211234567";
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final ValueObjectInterner<String, PetIdentifier> interner = new ValueObjectInterner<>("petIdentifier", value -> {
+        created.incrementAndGet();
+        return new PetIdentifier(value);
+    });
+
+    @AfterEach
+    void disableInterning() {
+        ValueObjectInterners.disableAll();
+    }
+
+    @Test
+    void shouldCreateNewInstancesWhileDisabled() {
+        PetIdentifier first = interner.intern(VALID_IDENTIFIER);
+        PetIdentifier second = interner.intern(VALID_IDENTIFIER);
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(2, created.get());
+        assertEquals(0, interner.hitCount());
+        assertEquals(0, interner.missCount());
+    }
+
+    @Test
+    void shouldReturnCanonicalInstanceWhenEnabled() {
+        interner.enable(100);
+
+        PetIdentifier first = interner.intern(VALID_IDENTIFIER);
+        PetIdentifier second = interner.intern(VALID_IDENTIFIER);
+
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertEquals(1, interner.hitCount());
+        assertEquals(1, interner.missCount());
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void shouldNeverCacheInvalidValues() {
+        interner.enable(100);
+
+        assertThrows(ValidationException.class, () -> interner.intern(INVALID_IDENTIFIER));
+        assertThrows(ValidationException.class, () -> interner.intern(INVALID_IDENTIFIER));
+
+        assertEquals(2, created.get());
+        assertEquals(0, interner.hitCount());
+        assertEquals(0, interner.size());
+    }
+
+    @Test
+    void shouldEvictBeyondMaximumSize() {
+        interner.enable(10);
+
+        for (int unique = PetIdentifier.MIN_UNIQUE; unique <= 1000; unique++) {
+            interner.intern(PetIdentifier.generate(2024, 3, 12, Gender.FEMALE, unique).getPrimitive());
+        }
+
+        assertTrue(interner.size() <= 10);
+    }
+
+    @Test
+    void shouldInternBehindFactoryMethod() {
+        ValueObjectInterners.enableAll(100);
+
+        assertSame(PetIdentifier.of(VALID_IDENTIFIER), PetIdentifier.of(VALID_IDENTIFIER));
+        assertThrows(ValidationException.class, () -> PetIdentifier.of(INVALID_IDENTIFIER));
+    }
+}
@@ -0,0 +1,55 @@
+package no.acntech.hexapetclinic.test.domain.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.model.EmailAddressSyntax;
+import no.acntech.hexapetclinic.domain.model.TelephoneNumberSyntax;
+import no.acntech.hexapetclinic.test.domain.Microbenchmark;
+import no.acntech.hexapetclinic.test.domain.Microbenchmark.Result;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Micro-benchmark comparing the regular expressions formerly used to validate email addresses and telephone numbers with the scanners
+ * of {@link EmailAddressSyntax} and {@link TelephoneNumberSyntax}, on valid, invalid and pathological inputs.
+ * <p>
+ * Reports the time and the bytes allocated per operation, measured by {@link Microbenchmark}. The numbers vary between machines and
+ * JVMs and are only logged. Tagged {@code benchmark}, so it is left out of the default build; the scanners are checked
+ * against the regular expressions by {@link ValueObjectSyntaxEquivalenceTest}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ValueObjectSyntaxBenchmarkTest {
+
+    private static final int WARMUP_OPERATIONS = 20_000;
+    private static final int MEASURED_OPERATIONS = 100_000;
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(EmailAddressSyntax.REGEX, Pattern.CASE_INSENSITIVE);
+    private static final Pattern TELEPHONE_PATTERN = Pattern.compile(TelephoneNumberSyntax.REGEX);
+
+    @Test
+    void benchmarkEmailAddressSyntax() throws Exception {
+        compare("email, valid", "john.doe@example.com", EMAIL_PATTERN, EmailAddressSyntax::matches);
+        compare("email, invalid", "john.doe@example", EMAIL_PATTERN, EmailAddressSyntax::matches);
+        compare("email, pathological", "x@" + "a.".repeat(120) + "1", EMAIL_PATTERN, EmailAddressSyntax::matches);
+    }
+
+    @Test
+    void benchmarkTelephoneNumberSyntax() throws Exception {
+        compare("telephone, valid", "+47 (22) 123 4567", TELEPHONE_PATTERN, TelephoneNumberSyntax::matches);
+        compare("telephone, invalid", "123-456-789x", TELEPHONE_PATTERN, TelephoneNumberSyntax::matches);
+        compare("telephone, pathological", "1".repeat(40) + "x", TELEPHONE_PATTERN, TelephoneNumberSyntax::matches);
+    }
+
+    private static void compare(String name, String input, Pattern pattern, Predicate<String> scanner) throws Exception {
+        boolean expected = pattern.matcher(input).matches();
+        assertEquals(expected, scanner.test(input), name);
+
+        Result regex = Microbenchmark.measure(WARMUP_OPERATIONS, MEASURED_OPERATIONS, i -> pattern.matcher(input).matches() ? 1 : 0);
+        Result scanned = Microbenchmark.measure(WARMUP_OPERATIONS, MEASURED_OPERATIONS, i -> scanner.test(input) ? 1 : 0);
+        log.info("{}: regex {}, scanner {}", name, regex, scanned);
+    }
+}
@@ -0,0 +1,141 @@
+package no.acntech.hexapetclinic.test.domain.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.model.EmailAddress;
+import no.acntech.hexapetclinic.domain.model.EmailAddressSyntax;
+import no.acntech.hexapetclinic.domain.model.TelephoneNumber;
+import no.acntech.hexapetclinic.domain.model.TelephoneNumberSyntax;
+import no.acntech.hexapetclinic.utils.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Property-based check that the scanners of {@link EmailAddressSyntax} and {@link TelephoneNumberSyntax} accept exactly the language of
+ * the regular expressions they replaced, over exhaustively enumerated short inputs, random inputs and random mutations of valid inputs.
+ * The random inputs are drawn from a fixed seed, which is included in the message of a failure.
+ */
+@Slf4j
+class ValueObjectSyntaxEquivalenceTest {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(EmailAddressSyntax.REGEX, Pattern.CASE_INSENSITIVE);
+    private static final Pattern TELEPHONE_PATTERN = Pattern.compile(TelephoneNumberSyntax.REGEX);
+
+    // Includes characters that only match the letter classes with Unicode case folding (Kelvin sign, long s, dotless i)
+    private static final char[] EMAIL_ALPHABET = "aZ09._%+-@ Kſı#".toCharArray();
+    private static final char[] TELEPHONE_ALPHABET = "0123456789+() .-x٠".toCharArray();
+    private static final char[] TELEPHONE_SHAPE_ALPHABET = "1+() ".toCharArray();
+
+    private static final List<String> VALID_EMAIL_ADDRESSES = List.of(
+        "john.doe@example.com", "a@b.co", "first_last+tag%x@sub-domain.example.org", "X-Y@A.B.CD");
+    private static final List<String> VALID_TELEPHONE_NUMBERS = List.of(
+        "+4712345678", "123-456-7890", "+47 (22) 123 4567", "(555)123.4567", "1234567", "+1 800 555 0199");
+
+    private static final int RANDOM_INPUTS = 300_000;
+    private static final int MAX_RANDOM_LENGTH = 24;
+    private static final int MAX_EXHAUSTIVE_LENGTH = 8;
+
+    // Fixed, so that runs are reproducible; other inputs can be explored with -Dvalue-object-syntax.seed=<seed>
+    private static final long DEFAULT_SEED = 20_240_615L;
+    private static final String SEED_PROPERTY = "value-object-syntax.seed";
+
+    private final long seed = Long.getLong(SEED_PROPERTY, DEFAULT_SEED);
+    private final Random random = new Random(seed);
+
+    @Test
+    void emailScannerShouldAcceptTheSameLanguageAsTheRegex() {
+        log.info("Random seed: {}", seed);
+        VALID_EMAIL_ADDRESSES.forEach(value -> assertTrue(EmailAddressSyntax.matches(value), value));
+
+        for (int i = 0; i < RANDOM_INPUTS; i++) {
+            assertEquivalent(randomString(EMAIL_ALPHABET), EMAIL_PATTERN, EmailAddressSyntax::matches);
+            assertEquivalent(mutate(pick(VALID_EMAIL_ADDRESSES), EMAIL_ALPHABET), EMAIL_PATTERN, EmailAddressSyntax::matches);
+        }
+    }
+
+    @Test
+    void telephoneScannerShouldAcceptTheSameLanguageAsTheRegex() {
+        log.info("Random seed: {}", seed);
+        VALID_TELEPHONE_NUMBERS.forEach(value -> assertTrue(TelephoneNumberSyntax.matches(value), value));
+
+        for (int i = 0; i < RANDOM_INPUTS; i++) {
+            assertEquivalent(randomString(TELEPHONE_ALPHABET), TELEPHONE_PATTERN, TelephoneNumberSyntax::matches);
+            assertEquivalent(mutate(pick(VALID_TELEPHONE_NUMBERS), TELEPHONE_ALPHABET), TELEPHONE_PATTERN, TelephoneNumberSyntax::matches);
+        }
+    }
+
+    @Test
+    void telephoneScannerShouldAcceptTheSameShortInputsAsTheRegex() {
+        // Every arrangement of digits, plus signs, parentheses and separators up to the given length
+        char[] chars = new char[MAX_EXHAUSTIVE_LENGTH];
+        for (int length = 0; length <= MAX_EXHAUSTIVE_LENGTH; length++) {
+            enumerate(chars, 0, length);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidValuesWithTheSameMessage() {
+        ValidationException exception = assertThrows(ValidationException.class, () -> TelephoneNumber.of("12345678901x"));
+        assertTrue(exception.getMessage().contains("does not match the required regex pattern: " + TelephoneNumberSyntax.REGEX));
+
+        exception = assertThrows(ValidationException.class, () -> EmailAddress.of(".john@example.com"));
+        assertTrue(exception.getMessage().contains("does not match the required regex pattern: " + EmailAddressSyntax.REGEX));
+    }
+
+    private void enumerate(char[] chars, int index, int length) {
+        if (index == length) {
+            assertEquivalent(new String(chars, 0, length), TELEPHONE_PATTERN, TelephoneNumberSyntax::matches);
+            return;
+        }
+        for (char c : TELEPHONE_SHAPE_ALPHABET) {
+            chars[index] = c;
+            enumerate(chars, index + 1, length);
+        }
+    }
+
+    private void assertEquivalent(String value, Pattern pattern, Predicate<String> scanner) {
+        boolean expected = pattern.matcher(value).matches();
+        if (scanner.test(value) != expected) {
+            fail("Scanner disagrees with " + pattern + " on '" + value + "' (expected " + expected + ", seed " + seed + ")");
+        }
+    }
+
+    private String randomString(char[] alphabet) {
+        char[] chars = new char[random.nextInt(MAX_RANDOM_LENGTH + 1)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return new String(chars);
+    }
+
+    private String mutate(String value, char[] alphabet) {
+        StringBuilder builder = new StringBuilder(value);
+        int mutations = 1 + random.nextInt(3);
+        for (int i = 0; i < mutations; i++) {
+            int index = random.nextInt(builder.length() + 1);
+            char c = alphabet[random.nextInt(alphabet.length)];
+            switch (random.nextInt(3)) {
+                case 0 -> builder.insert(index, c);
+                case 1 -> {
+                    if (index < builder.length()) {
+                        builder.deleteCharAt(index);
+                    }
+                }
+                default -> {
+                    if (index < builder.length()) {
+                        builder.setCharAt(index, c);
+                    }
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
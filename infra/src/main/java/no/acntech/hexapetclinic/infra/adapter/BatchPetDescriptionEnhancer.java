@@ -0,0 +1,23 @@
+package no.acntech.hexapetclinic.infra.adapter;
+
+import java.util.List;
+import lombok.NonNull;
+import no.acntech.hexapetclinic.domain.model.PetType;
+
+/**
+ * An enhancement service able to enhance several pet descriptions in a single call.
+ */
+public interface BatchPetDescriptionEnhancer {
+
+  /**
+   * Enhances the given descriptions in a single call.
+   *
+   * @param requests the descriptions to enhance
+   * @return the enhanced descriptions, one per request and in the same order
+   */
+  List<String> enhanceDescriptions(@NonNull List<EnhancementRequest> requests);
+
+  record EnhancementRequest(@NonNull PetType petType, @NonNull String breed, @NonNull String description) {
+
+  }
+}
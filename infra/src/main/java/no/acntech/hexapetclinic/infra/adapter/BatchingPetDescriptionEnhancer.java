@@ -0,0 +1,194 @@
+package no.acntech.hexapetclinic.infra.adapter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.connector.AsyncPetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.model.PetType;
+import no.acntech.hexapetclinic.infra.adapter.BatchPetDescriptionEnhancer.EnhancementRequest;
+
+/**
+ * An {@link AsyncPetDescriptionEnhancer} collecting concurrent requests into batches for a {@link BatchPetDescriptionEnhancer}.
+ * <p>
+ * A batch is opened by the first request arriving while no batch is collecting, and is sent once it holds the maximum number of
+ * requests or the batching window has passed, whichever comes first. Batches are sent concurrently, each on a virtual thread of its
+ * own. Blocking callers wait until the batch holding their request has completed, whereas asynchronous callers are handed a future
+ * completed with it; if the batch fails, every caller in it gets the failure.
+ * <p>
+ * Batches are collected by a dispatcher thread, which is started by {@link #start()} and stopped by {@link #close()}. Requests made
+ * before the enhancer is started wait for it to be started. On close, batches already sent are completed, whereas requests not yet
+ * sent, and requests made afterward, fail with an {@link IllegalStateException}.
+ * <p>
+ * The number of requests per batch is published as {@value #BATCH_SIZE_SUMMARY}.
+ */
+@Slf4j
+public class BatchingPetDescriptionEnhancer implements AsyncPetDescriptionEnhancer, AutoCloseable {
+
+  public static final String BATCH_SIZE_SUMMARY = "pet.description.enhancer.batch.size";
+
+  private static final String DISPATCHER_THREAD_NAME = "pet-descr-batch-dispatcher";
+  private static final String BATCH_THREAD_PREFIX = "pet-descr-batch-";
+  private static final Duration DISPATCHER_STOP_TIMEOUT = Duration.ofSeconds(5);
+
+  private final BatchPetDescriptionEnhancer delegate;
+  private final long windowNanos;
+  private final int maxBatchSize;
+  private final DistributionSummary batchSizeSummary;
+
+  private final BlockingQueue<PendingRequest> queue = new LinkedBlockingQueue<>();
+  private final ThreadFactory batchThreadFactory = Thread.ofVirtual().name(BATCH_THREAD_PREFIX, 0).factory();
+
+  private Thread dispatcher; // Guarded by this
+  private volatile boolean closed;
+
+  public BatchingPetDescriptionEnhancer(
+      @NonNull BatchPetDescriptionEnhancer delegate,
+      @NonNull Duration window,
+      int maxBatchSize,
+      @NonNull MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.windowNanos = window.toNanos();
+    this.maxBatchSize = maxBatchSize;
+    this.batchSizeSummary = DistributionSummary.builder(BATCH_SIZE_SUMMARY)
+        .description("Number of pet descriptions enhanced per call to the enhancement service")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts the dispatcher collecting requests into batches. Does nothing if it has already been started.
+   *
+   * @return this enhancer
+   * @throws IllegalStateException if the enhancer has been closed
+   */
+  public synchronized BatchingPetDescriptionEnhancer start() {
+    if (closed) {
+      throw new IllegalStateException("Pet description batching has been closed");
+    }
+    if (dispatcher == null) {
+      dispatcher = Thread.ofVirtual().name(DISPATCHER_THREAD_NAME).start(this::dispatch);
+    }
+    return this;
+  }
+
+  /**
+   * Stops the dispatcher and fails the requests that have not been sent. Batches already sent complete as usual.
+   */
+  @Override
+  public void close() {
+    Thread stopped;
+    synchronized (this) {
+      closed = true;
+      stopped = dispatcher;
+    }
+    if (stopped != null) {
+      stopped.interrupt();
+      try {
+        if (!stopped.join(DISPATCHER_STOP_TIMEOUT)) {
+          log.warn("Pet description batch dispatcher did not stop within {}", DISPATCHER_STOP_TIMEOUT);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    List<PendingRequest> unsent = new ArrayList<>();
+    queue.drainTo(unsent);
+    fail(unsent);
+    log.debug("Pet description batching stopped, {} requests not sent", unsent.size());
+  }
+
+  @Override
+  public String enhanceDescription(@NonNull PetType petType, @NonNull String breed, @NonNull String description) {
+    CompletableFuture<String> result = enhanceDescriptionAsync(petType, breed, description);
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      // The batch is still sent, but nobody is waiting for this result anymore
+      result.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for enhanced description", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Failed to enhance description", e.getCause());
+    }
+  }
+
+  @Override
+  public CompletableFuture<String> enhanceDescriptionAsync(@NonNull PetType petType, @NonNull String breed,
+      @NonNull String description) {
+    PendingRequest pending = new PendingRequest(new EnhancementRequest(petType, breed, description), new CompletableFuture<>());
+    queue.add(pending);
+    if (closed && queue.remove(pending)) {
+      // Closed while adding; otherwise the request has been taken by the dispatcher or failed by close
+      fail(List.of(pending));
+    }
+    return pending.result();
+  }
+
+  private void dispatch() {
+    while (true) {
+      List<PendingRequest> batch = new ArrayList<>(maxBatchSize);
+      try {
+        collectBatch(batch);
+      } catch (InterruptedException e) {
+        // The batch being collected has not been sent, so it is failed along with the requests still queued
+        fail(batch);
+        if (!closed) {
+          log.warn("Pet description batch dispatcher interrupted, batching stopped");
+        }
+        return;
+      }
+      batchThreadFactory.newThread(() -> send(batch)).start();
+    }
+  }
+
+  private void collectBatch(List<PendingRequest> batch) throws InterruptedException {
+    batch.add(queue.take());
+    long deadline = System.nanoTime() + windowNanos;
+    while (batch.size() < maxBatchSize) {
+      long remaining = deadline - System.nanoTime();
+      PendingRequest next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+      if (next == null) {
+        break;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void send(List<PendingRequest> batch) {
+    batchSizeSummary.record(batch.size());
+    try {
+      List<String> enhancedDescriptions = delegate.enhanceDescriptions(batch.stream().map(PendingRequest::request).toList());
+      if (enhancedDescriptions.size() != batch.size()) {
+        throw new IllegalStateException(
+            "Expected " + batch.size() + " enhanced descriptions, but got " + enhancedDescriptions.size());
+      }
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).result().complete(enhancedDescriptions.get(i));
+      }
+    } catch (RuntimeException e) {
+      log.debug("Failed to enhance batch of {} descriptions: {}", batch.size(), e.getMessage());
+      batch.forEach(pending -> pending.result().completeExceptionally(e));
+    }
+  }
+
+  private static void fail(List<PendingRequest> requests) {
+    IllegalStateException closedException = new IllegalStateException("Pet description batching has been stopped");
+    requests.forEach(pending -> pending.result().completeExceptionally(closedException));
+  }
+
+  private record PendingRequest(EnhancementRequest request, CompletableFuture<String> result) {
+
+  }
+}
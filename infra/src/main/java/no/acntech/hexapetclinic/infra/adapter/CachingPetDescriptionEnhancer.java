@@ -0,0 +1,130 @@
+package no.acntech.hexapetclinic.infra.adapter;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.connector.AsyncPetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.model.PetType;
+
+/**
+ * An {@link AsyncPetDescriptionEnhancer} decorator caching enhanced descriptions by pet type, breed and original description.
+ * <p>
+ * The cache is bounded in size, evicting the least recently used entries first, and entries expire a fixed time after they were
+ * written. It holds the futures of the delegate's asynchronous calls, so concurrent requests for the same key share a single call to
+ * the delegate; later requests wait for its result instead of issuing calls of their own. Failures and results that are not enhanced,
+ * i.e. blank or equal to the original description, are not kept. Cancelling the future handed to one request does not affect the
+ * others.
+ * <p>
+ * Hits, misses and evictions are published as the {@code cache.*} meters of the {@value #CACHE_NAME} cache, the latency of all
+ * requests as {@value #REQUESTS_TIMER} and the latency of the delegate calls as {@value #DELEGATE_TIMER}.
+ */
+@Slf4j
+public class CachingPetDescriptionEnhancer implements AsyncPetDescriptionEnhancer, AutoCloseable {
+
+  public static final String CACHE_NAME = "petDescriptionEnhancer";
+  public static final String REQUESTS_TIMER = "pet.description.enhancer.requests";
+  public static final String DELEGATE_TIMER = "pet.description.enhancer.delegate";
+
+  private final AsyncPetDescriptionEnhancer delegate;
+  private final LoadingCache<Key, CompletableFuture<String>> cache;
+  private final MeterRegistry meterRegistry;
+  private final Timer requestsTimer;
+  private final Timer delegateTimer;
+
+  public CachingPetDescriptionEnhancer(
+      @NonNull AsyncPetDescriptionEnhancer delegate,
+      long maximumSize,
+      @NonNull Duration timeToLive,
+      @NonNull MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build(CacheLoader.from(this::load));
+    this.meterRegistry = meterRegistry;
+    this.requestsTimer = Timer.builder(REQUESTS_TIMER)
+        .description("Latency of pet description enhancements, including cache hits")
+        .register(meterRegistry);
+    this.delegateTimer = Timer.builder(DELEGATE_TIMER)
+        .description("Latency of pet description enhancements not served from the cache")
+        .register(meterRegistry);
+    GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Closes the delegate, if it holds resources of its own, such as the dispatcher of a {@link BatchingPetDescriptionEnhancer}.
+   */
+  @Override
+  public void close() throws Exception {
+    if (delegate instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+
+  @Override
+  public String enhanceDescription(@NonNull PetType petType, @NonNull String breed, @NonNull String description) {
+    CompletableFuture<String> result = enhanceDescriptionAsync(petType, breed, description);
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      result.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for enhanced description", e);
+    } catch (ExecutionException e) {
+      // Rethrow what the delegate threw, not the future's wrapper
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Failed to enhance description", e.getCause());
+    }
+  }
+
+  @Override
+  public CompletableFuture<String> enhanceDescriptionAsync(@NonNull PetType petType, @NonNull String breed,
+      @NonNull String description) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    Key key = new Key(petType, breed, description);
+    CompletableFuture<String> enhancement = cache.getUnchecked(key);
+    // A new stage per request, completed only once the entry has been dropped if it is not to be kept
+    CompletableFuture<String> result = enhancement.whenComplete((enhancedDescription, error) -> {
+      if (error != null || !isEnhanced(key, enhancedDescription)) {
+        // Let the next request try again rather than serving the failure or unenhanced description until it expires
+        cache.asMap().remove(key, enhancement);
+      }
+    });
+    result.whenComplete((enhancedDescription, error) -> sample.stop(requestsTimer));
+    return result;
+  }
+
+  private CompletableFuture<String> load(Key key) {
+    log.debug("Enhancing description for {} of breed {}, not found in cache", key.petType(), key.breed());
+    Timer.Sample sample = Timer.start(meterRegistry);
+    CompletableFuture<String> call;
+    try {
+      call = delegate.enhanceDescriptionAsync(key.petType(), key.breed(), key.description());
+    } catch (RuntimeException e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    return call
+        .whenComplete((enhancedDescription, error) -> sample.stop(delegateTimer))
+        // A missing result is kept as the original description
+        .thenApply(enhancedDescription -> enhancedDescription != null ? enhancedDescription : key.description());
+  }
+
+  private static boolean isEnhanced(Key key, String enhancedDescription) {
+    return !enhancedDescription.isBlank() && !enhancedDescription.equals(key.description());
+  }
+
+  private record Key(PetType petType, String breed, String description) {
+
+  }
+}
@@ -1,5 +1,6 @@
 package no.acntech.hexapetclinic.infra.adapter;
 
+import com.azure.ai.openai.OpenAIAsyncClient;
 import com.azure.ai.openai.OpenAIClient;
 import com.azure.ai.openai.OpenAIClientBuilder;
 import com.azure.ai.openai.models.ChatChoice;
@@ -8,16 +9,40 @@ import com.azure.ai.openai.models.ChatCompletionsOptions;
 import com.azure.ai.openai.models.ChatRequestMessage;
 import com.azure.ai.openai.models.ChatRequestSystemMessage;
 import com.azure.ai.openai.models.ChatRequestUserMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import no.acntech.hexapetclinic.domain.connector.PetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.connector.AsyncPetDescriptionEnhancer;
 import no.acntech.hexapetclinic.domain.model.PetType;
 import no.acntech.hexapetclinic.utils.text.StringUtils;
 
+/**
+ * Enhances pet descriptions with Azure OpenAI chat completions.
+ * <p>
+ * Blocking enhancements go through the synchronous client. Asynchronous enhancements go through the asynchronous client, which does not
+ * hold a thread while waiting for the response.
+ * <p>
+ * Every call to the service is recorded in the timer {@value #SERVICE_CALLS_TIMER}, tagged with the method of the adapter making it
+ * and its outcome ({@value #SUCCESS} or {@value #ERROR}), with percentile histograms. Unlike the timers of the decorators in front of
+ * the adapter, it leaves out cache hits, calls rejected by the guards and the time spent waiting for a batch.
+ */
 @Slf4j
-public class PetDescriptionEnhancerAzureOpenAiAdapter implements PetDescriptionEnhancer {
+public class PetDescriptionEnhancerAzureOpenAiAdapter implements AsyncPetDescriptionEnhancer, BatchPetDescriptionEnhancer {
+
+  public static final String SERVICE_CALLS_TIMER = "pet.description.enhancer.service.calls";
+  public static final String METHOD_TAG = "method";
+  public static final String OUTCOME_TAG = "outcome";
+  public static final String SUCCESS = "SUCCESS";
+  public static final String ERROR = "ERROR";
 
   private static final String OPENAI_API_KEY = "insert-your-azure-openai-api-key-here";
   private static final String OPENAI_ENDPOINT_URL = "https://someservice.openai.azure.com";
@@ -25,23 +50,68 @@ public class PetDescriptionEnhancerAzureOpenAiAdapter implements PetDescriptionE
   private static final int MAX_TOKENS = 150;
   private static final int MAX_RESPONSE_LENGTH = 500; // Max characters for safety
 
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+  };
+
   private final OpenAIClient openAiClient;
+  private final OpenAIAsyncClient openAiAsyncClient;
   private final String deploymentOrModelName;
+  private final MeterRegistry meterRegistry;
 
   public PetDescriptionEnhancerAzureOpenAiAdapter() {
-    this(OPENAI_API_KEY, OPENAI_ENDPOINT_URL, OPENAI_DEPLOYMENT_OR_MODEL_NAME);
+    this(Metrics.globalRegistry);
+  }
+
+  public PetDescriptionEnhancerAzureOpenAiAdapter(MeterRegistry meterRegistry) {
+    this(OPENAI_API_KEY, OPENAI_ENDPOINT_URL, OPENAI_DEPLOYMENT_OR_MODEL_NAME, meterRegistry);
+  }
+
+  public PetDescriptionEnhancerAzureOpenAiAdapter(String azureOpenAiApiKey, String azureOpenAiEndpointUrl,
+      String deploymentOrModelName, MeterRegistry meterRegistry) {
+    this(new OpenAIClientBuilder()
+            .credential(new com.azure.core.credential.KeyCredential(azureOpenAiApiKey))
+            .endpoint(azureOpenAiEndpointUrl),
+        deploymentOrModelName,
+        meterRegistry);
   }
 
-  public PetDescriptionEnhancerAzureOpenAiAdapter(String azureOpenAiApiKey, String azureOpenAiEndpointUrl, String deploymentOrModelName) {
-    this.openAiClient = new OpenAIClientBuilder()
-        .credential(new com.azure.core.credential.KeyCredential(azureOpenAiApiKey))
-        .endpoint(azureOpenAiEndpointUrl)
-        .buildClient();
+  public PetDescriptionEnhancerAzureOpenAiAdapter(OpenAIClientBuilder openAiClientBuilder, String deploymentOrModelName,
+      MeterRegistry meterRegistry) {
+    this(openAiClientBuilder.buildClient(), openAiClientBuilder.buildAsyncClient(), deploymentOrModelName, meterRegistry);
+  }
+
+  public PetDescriptionEnhancerAzureOpenAiAdapter(OpenAIClient openAiClient, OpenAIAsyncClient openAiAsyncClient,
+      String deploymentOrModelName, @NonNull MeterRegistry meterRegistry) {
+    this.openAiClient = openAiClient;
+    this.openAiAsyncClient = openAiAsyncClient;
     this.deploymentOrModelName = deploymentOrModelName;
+    this.meterRegistry = meterRegistry;
   }
 
   @Override
   public String enhanceDescription(@NonNull PetType petType, @NonNull String breed, @NonNull String description) {
+    // Failures are left to the caller, see ResilientPetDescriptionEnhancer
+    String result = time("enhanceDescription", () -> toContent(
+        openAiClient.getChatCompletions(deploymentOrModelName, chatOptions(petType, breed, description))));
+
+    // Ensure response does not exceed character limit
+    return StringUtils.truncate(result, MAX_RESPONSE_LENGTH);
+  }
+
+  @Override
+  public CompletableFuture<String> enhanceDescriptionAsync(@NonNull PetType petType, @NonNull String breed,
+      @NonNull String description) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    CompletableFuture<String> result = openAiAsyncClient
+        .getChatCompletions(deploymentOrModelName, chatOptions(petType, breed, description))
+        .map(chatCompletions -> StringUtils.truncate(toContent(chatCompletions), MAX_RESPONSE_LENGTH))
+        .toFuture();
+    result.whenComplete((value, e) -> stop(sample, "enhanceDescriptionAsync", e == null));
+    return result;
+  }
+
+  private static ChatCompletionsOptions chatOptions(PetType petType, String breed, String description) {
     List<ChatRequestMessage> chatMessages = new ArrayList<>();
 
     // System message to set assistant behavior
@@ -60,29 +130,93 @@ public class PetDescriptionEnhancerAzureOpenAiAdapter implements PetDescriptionE
     );
     chatMessages.add(new ChatRequestUserMessage(userMessage));
 
-    try {
-      // Call Azure OpenAI with token limit
-      ChatCompletions chatCompletions = openAiClient.getChatCompletions(
-          deploymentOrModelName,
-          new ChatCompletionsOptions(chatMessages)
-              .setMaxTokens(MAX_TOKENS) // Limit response tokens
-      );
+    return new ChatCompletionsOptions(chatMessages)
+        .setMaxTokens(MAX_TOKENS); // Limit response tokens
+  }
 
-      StringBuilder enhancedDescription = new StringBuilder();
-      for (ChatChoice choice : chatCompletions.getChoices()) {
-        enhancedDescription.append(choice.getMessage().getContent());
-      }
+  @Override
+  public List<String> enhanceDescriptions(@NonNull List<EnhancementRequest> requests) {
+    List<ChatRequestMessage> chatMessages = new ArrayList<>();
+
+    // System message to set assistant behavior, and the format of the batch
+    chatMessages.add(new ChatRequestSystemMessage(
+        "You are an expert pet assistant. Provide concise, engaging, and fact-based enhancements. " +
+            "You receive a JSON array of pets, each with a type, a breed and a description. " +
+            "Enhance each description with breed-specific details while keeping it concise and engaging. " +
+            "Keep each enhanced description under " + MAX_RESPONSE_LENGTH + " characters. " +
+            "Respond with only a JSON array of strings holding the enhanced descriptions, in the same order as the pets."));
 
-      String result = enhancedDescription.toString();
+    // User message holding the batch
+    chatMessages.add(new ChatRequestUserMessage(toJson(requests)));
 
-      // Ensure response does not exceed character limit
-      result = StringUtils.truncate(result, MAX_RESPONSE_LENGTH);
+    String response = time("enhanceDescriptions", () -> complete(chatMessages, MAX_TOKENS * requests.size()));
 
-//      log.debug("Generated enhanced description for pet {} of breed {}: {}", petType, breed, result);
+    List<String> results = parseDescriptions(response);
+    if (results.size() != requests.size()) {
+      throw new IllegalStateException("Expected " + requests.size() + " enhanced descriptions, but got " + results.size());
+    }
+    return results.stream()
+        .map(result -> StringUtils.truncate(result, MAX_RESPONSE_LENGTH))
+        .toList();
+  }
+
+  private String complete(List<ChatRequestMessage> chatMessages, int maxTokens) {
+    // Call Azure OpenAI with token limit
+    return toContent(openAiClient.getChatCompletions(
+        deploymentOrModelName,
+        new ChatCompletionsOptions(chatMessages)
+            .setMaxTokens(maxTokens) // Limit response tokens
+    ));
+  }
+
+  private <T> T time(String method, Supplier<T> call) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    try {
+      T result = call.get();
+      stop(sample, method, true);
       return result;
     } catch (RuntimeException e) {
-      log.error("Error generating enhanced description using Azure OpenAI API: {}", e.getMessage(), e);
-      return description;
+      stop(sample, method, false);
+      throw e;
+    }
+  }
+
+  private void stop(Timer.Sample sample, String method, boolean success) {
+    sample.stop(Timer.builder(SERVICE_CALLS_TIMER)
+        .description("Latency of the calls to the Azure OpenAI service")
+        .tag(METHOD_TAG, method)
+        .tag(OUTCOME_TAG, success ? SUCCESS : ERROR)
+        .publishPercentileHistogram()
+        .register(meterRegistry));
+  }
+
+  private static String toContent(ChatCompletions chatCompletions) {
+    StringBuilder content = new StringBuilder();
+    for (ChatChoice choice : chatCompletions.getChoices()) {
+      content.append(choice.getMessage().getContent());
+    }
+    return content.toString();
+  }
+
+  private static String toJson(List<EnhancementRequest> requests) {
+    try {
+      return OBJECT_MAPPER.writeValueAsString(requests);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to write pets to enhance as JSON", e);
+    }
+  }
+
+  private static List<String> parseDescriptions(String response) {
+    // Models tend to wrap JSON in a markdown code block, so only the array itself is parsed
+    int start = response.indexOf('[');
+    int end = response.lastIndexOf(']');
+    if (start < 0 || end < start) {
+      throw new IllegalStateException("Expected a JSON array of enhanced descriptions, but got: " + response);
+    }
+    try {
+      return OBJECT_MAPPER.readValue(response.substring(start, end + 1), STRING_LIST);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to parse enhanced descriptions: " + e.getOriginalMessage(), e);
     }
   }
 }
@@ -0,0 +1,253 @@
+package no.acntech.hexapetclinic.infra.adapter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.connector.AsyncPetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.model.PetType;
+
+/**
+ * An {@link AsyncPetDescriptionEnhancer} decorator protecting callers from a slow or failing delegate.
+ * <p>
+ * Three guards are applied to every call, each falling back to the original description when it trips:
+ * <ul>
+ *   <li>A circuit breaker, which opens after a number of consecutive failures and then rejects calls immediately. Once the open
+ *   duration has passed a single trial call is let through, closing the circuit if it succeeds and opening it again if not.</li>
+ *   <li>A bulkhead, which rejects calls when the maximum number of concurrent delegate calls is reached.</li>
+ *   <li>A deadline, after which the caller stops waiting for the delegate and its call is cancelled. A call counts against the
+ *   bulkhead until the delegate's future has completed, or been cancelled.</li>
+ * </ul>
+ * The guards are applied to the asynchronous call of the delegate, so no thread is tied up while waiting for it; blocking callers
+ * wait for the guarded future. The future never completes exceptionally, since every failure falls back to the original description.
+ * Timeouts and exceptions thrown by the delegate count as failures; calls rejected by the circuit breaker or the bulkhead do not.
+ * <p>
+ * Circuit state transitions are counted by {@value #CIRCUIT_TRANSITIONS_COUNTER}, the current state is published by
+ * {@value #CIRCUIT_STATE_GAUGE}, and fallbacks are counted by {@value #FALLBACKS_COUNTER} tagged with the reason.
+ */
+@Slf4j
+public class ResilientPetDescriptionEnhancer implements AsyncPetDescriptionEnhancer, AutoCloseable {
+
+  public static final String CIRCUIT_TRANSITIONS_COUNTER = "pet.description.enhancer.circuit.transitions";
+  public static final String CIRCUIT_STATE_GAUGE = "pet.description.enhancer.circuit.state";
+  public static final String BULKHEAD_AVAILABLE_GAUGE = "pet.description.enhancer.bulkhead.available";
+  public static final String FALLBACKS_COUNTER = "pet.description.enhancer.fallbacks";
+
+  public enum CircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private enum FallbackReason {
+    CIRCUIT_OPEN,
+    BULKHEAD_FULL,
+    TIMEOUT,
+    FAILURE
+  }
+
+  private final AsyncPetDescriptionEnhancer delegate;
+  private final Duration timeout;
+  private final Semaphore bulkhead;
+  private final CircuitBreaker circuitBreaker;
+  private final MeterRegistry meterRegistry;
+
+  public ResilientPetDescriptionEnhancer(
+      @NonNull AsyncPetDescriptionEnhancer delegate,
+      @NonNull Duration timeout,
+      int maxConcurrentCalls,
+      int failureThreshold,
+      @NonNull Duration openDuration,
+      @NonNull MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.timeout = timeout;
+    this.bulkhead = new Semaphore(maxConcurrentCalls);
+    this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+    this.meterRegistry = meterRegistry;
+    Gauge.builder(BULKHEAD_AVAILABLE_GAUGE, bulkhead, Semaphore::availablePermits)
+        .description("Number of additional concurrent pet description enhancements allowed")
+        .register(meterRegistry);
+    for (CircuitState state : CircuitState.values()) {
+      Gauge.builder(CIRCUIT_STATE_GAUGE, circuitBreaker, breaker -> breaker.getState() == state ? 1 : 0)
+          .description("Whether the pet description enhancer circuit is in the given state")
+          .tag("state", state.name())
+          .register(meterRegistry);
+    }
+  }
+
+  public CircuitState getCircuitState() {
+    return circuitBreaker.getState();
+  }
+
+  /**
+   * Closes the delegate, if it holds resources of its own, such as the dispatcher of a {@link BatchingPetDescriptionEnhancer}.
+   */
+  @Override
+  public void close() throws Exception {
+    if (delegate instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+
+  @Override
+  public String enhanceDescription(@NonNull PetType petType, @NonNull String breed, @NonNull String description) {
+    CompletableFuture<String> result = enhanceDescriptionAsync(petType, breed, description);
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      return fallback(FallbackReason.FAILURE, description, e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Guarded pet description enhancement failed", e.getCause());
+    }
+  }
+
+  @Override
+  public CompletableFuture<String> enhanceDescriptionAsync(@NonNull PetType petType, @NonNull String breed,
+      @NonNull String description) {
+    if (!circuitBreaker.tryAcquirePermission()) {
+      return CompletableFuture.completedFuture(fallback(FallbackReason.CIRCUIT_OPEN, description, null));
+    }
+    if (!bulkhead.tryAcquire()) {
+      circuitBreaker.releasePermission();
+      return CompletableFuture.completedFuture(fallback(FallbackReason.BULKHEAD_FULL, description, null));
+    }
+
+    CompletableFuture<String> call;
+    try {
+      call = delegate.enhanceDescriptionAsync(petType, breed, description);
+    } catch (RuntimeException e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    call.whenComplete((enhancedDescription, error) -> bulkhead.release());
+
+    CompletableFuture<String> delegateCall = call;
+    CompletableFuture<String> result = new CompletableFuture<>();
+    result.whenComplete((enhancedDescription, error) -> {
+      if (result.isCancelled()) {
+        delegateCall.cancel(true);
+      }
+    });
+    // The deadline is put on a copy, so that timing out completes the copy while the delegate's call is cancelled
+    call.copy().orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS).whenComplete((enhancedDescription, error) -> {
+      if (result.isCancelled()) {
+        // Abandoned by the caller, which is neither a success nor a failure of the delegate
+        circuitBreaker.releasePermission();
+      } else if (error == null) {
+        circuitBreaker.onSuccess();
+        result.complete(enhancedDescription);
+      } else if (error instanceof TimeoutException) {
+        delegateCall.cancel(true);
+        circuitBreaker.onFailure();
+        result.complete(fallback(FallbackReason.TIMEOUT, description, null));
+      } else {
+        circuitBreaker.onFailure();
+        result.complete(fallback(FallbackReason.FAILURE, description,
+            error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+      }
+    });
+    return result;
+  }
+
+  private String fallback(FallbackReason reason, String description, Throwable cause) {
+    Counter.builder(FALLBACKS_COUNTER)
+        .description("Number of pet description enhancements falling back to the original description")
+        .tag("reason", reason.name())
+        .register(meterRegistry)
+        .increment();
+    switch (reason) {
+      case TIMEOUT -> log.warn("Pet description enhancement timed out after {}, keeping original description", timeout);
+      case FAILURE -> log.warn("Pet description enhancement failed, keeping original description: {}",
+          cause != null ? cause.getMessage() : null, cause);
+      default -> log.debug("Pet description enhancement skipped ({}), keeping original description", reason);
+    }
+    return description;
+  }
+
+  private class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private final AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialCallInFlight = new AtomicBoolean();
+    private volatile long openedAtNanos;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+      this.failureThreshold = failureThreshold;
+      this.openDurationNanos = openDuration.toNanos();
+    }
+
+    CircuitState getState() {
+      return state.get();
+    }
+
+    boolean tryAcquirePermission() {
+      CircuitState current = state.get();
+      if (current == CircuitState.OPEN) {
+        if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+          return false;
+        }
+        transition(CircuitState.OPEN, CircuitState.HALF_OPEN);
+        current = state.get();
+      }
+      // While half-open, only the single trial call is let through
+      return current == CircuitState.CLOSED
+          || current == CircuitState.HALF_OPEN && trialCallInFlight.compareAndSet(false, true);
+    }
+
+    void releasePermission() {
+      trialCallInFlight.set(false);
+    }
+
+    void onSuccess() {
+      consecutiveFailures.set(0);
+      if (state.get() == CircuitState.HALF_OPEN) {
+        transition(CircuitState.HALF_OPEN, CircuitState.CLOSED);
+      }
+    }
+
+    void onFailure() {
+      if (state.get() == CircuitState.HALF_OPEN) {
+        transition(CircuitState.HALF_OPEN, CircuitState.OPEN);
+      } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+        transition(CircuitState.CLOSED, CircuitState.OPEN);
+      }
+    }
+
+    private void transition(CircuitState from, CircuitState to) {
+      if (to == CircuitState.OPEN) {
+        openedAtNanos = System.nanoTime();
+      }
+      if (!state.compareAndSet(from, to)) {
+        return;
+      }
+      consecutiveFailures.set(0);
+      trialCallInFlight.set(false);
+      Counter.builder(CIRCUIT_TRANSITIONS_COUNTER)
+          .description("Number of state transitions of the pet description enhancer circuit")
+          .tag("from", from.name())
+          .tag("to", to.name())
+          .register(meterRegistry)
+          .increment();
+      if (to == CircuitState.CLOSED) {
+        log.info("Pet description enhancer circuit closed");
+      } else {
+        log.warn("Pet description enhancer circuit changed from {} to {}", from, to);
+      }
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package no.acntech.hexapetclinic.infra.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import no.acntech.hexapetclinic.infra.metrics.MethodTimingAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig extends BaseInfraConfig {
+
+  @Bean
+  public MethodTimingAspect methodTimingAspect(MeterRegistry meterRegistry) {
+    log.debug("Timing calls to the repository adapters");
+    return new MethodTimingAspect(meterRegistry);
+  }
+}
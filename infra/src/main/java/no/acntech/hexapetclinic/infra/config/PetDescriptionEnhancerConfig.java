@@ -1,7 +1,11 @@
 package no.acntech.hexapetclinic.infra.config;
 
-import no.acntech.hexapetclinic.domain.connector.PetDescriptionEnhancer;
+import io.micrometer.core.instrument.MeterRegistry;
+import no.acntech.hexapetclinic.domain.connector.AsyncPetDescriptionEnhancer;
+import no.acntech.hexapetclinic.infra.adapter.BatchingPetDescriptionEnhancer;
+import no.acntech.hexapetclinic.infra.adapter.CachingPetDescriptionEnhancer;
 import no.acntech.hexapetclinic.infra.adapter.PetDescriptionEnhancerAzureOpenAiAdapter;
+import no.acntech.hexapetclinic.infra.adapter.ResilientPetDescriptionEnhancer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,7 +13,33 @@ import org.springframework.context.annotation.Configuration;
 public class PetDescriptionEnhancerConfig extends BaseInfraConfig {
 
   @Bean
-  public PetDescriptionEnhancer petDescriptionEnhancer() {
-    return new PetDescriptionEnhancerAzureOpenAiAdapter();
+  public AsyncPetDescriptionEnhancer petDescriptionEnhancer(PetDescriptionEnhancerProperties properties, MeterRegistry meterRegistry) {
+    PetDescriptionEnhancerProperties.Cache cache = properties.cache();
+    PetDescriptionEnhancerProperties.Resilience resilience = properties.resilience();
+    PetDescriptionEnhancerProperties.Batching batching = properties.batching();
+    log.debug("Caching up to {} enhanced pet descriptions for {}", cache.maximumSize(), cache.timeToLive());
+    log.debug("Guarding pet description enhancement with {}", resilience);
+
+    PetDescriptionEnhancerAzureOpenAiAdapter azureOpenAiAdapter = new PetDescriptionEnhancerAzureOpenAiAdapter(meterRegistry);
+    AsyncPetDescriptionEnhancer enhancer = azureOpenAiAdapter;
+    if (batching.enabled()) {
+      log.debug("Batching pet description enhancement with {}", batching);
+      enhancer = new BatchingPetDescriptionEnhancer(azureOpenAiAdapter, batching.window(), batching.maxBatchSize(), meterRegistry)
+          .start();
+    }
+
+    // Cache hits are served without touching the guards, so they are not limited by an open circuit or a full bulkhead. Closing the
+    // bean on shutdown closes the decorators it wraps, stopping the batch dispatcher.
+    return new CachingPetDescriptionEnhancer(
+        new ResilientPetDescriptionEnhancer(
+            enhancer,
+            resilience.timeout(),
+            resilience.maxConcurrentCalls(),
+            resilience.failureThreshold(),
+            resilience.openDuration(),
+            meterRegistry),
+        cache.maximumSize(),
+        cache.timeToLive(),
+        meterRegistry);
   }
 }
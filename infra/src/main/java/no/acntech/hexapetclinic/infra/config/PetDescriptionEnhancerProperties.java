@@ -0,0 +1,65 @@
+package no.acntech.hexapetclinic.infra.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the pet description enhancer.
+ *
+ * @param cache      the cache of enhanced descriptions
+ * @param resilience the guards around calls to the enhancement service
+ * @param batching   the batching of concurrent requests into single calls to the enhancement service
+ */
+@ConfigurationProperties("application.pet-description-enhancer")
+public record PetDescriptionEnhancerProperties(
+    @DefaultValue Cache cache,
+    @DefaultValue Resilience resilience,
+    @DefaultValue Batching batching
+) {
+
+  /**
+   * Configuration properties for the cache of enhanced descriptions.
+   *
+   * @param maximumSize the maximum number of enhanced descriptions kept in the cache
+   * @param timeToLive  how long an enhanced description is kept after it was added to the cache
+   */
+  public record Cache(
+      @DefaultValue("10000") long maximumSize,
+      @DefaultValue("24h") Duration timeToLive
+  ) {
+
+  }
+
+  /**
+   * Configuration properties for the guards around calls to the enhancement service.
+   *
+   * @param timeout            how long to wait for an enhanced description before keeping the original one
+   * @param maxConcurrentCalls the maximum number of concurrent calls to the enhancement service
+   * @param failureThreshold   the number of consecutive failures opening the circuit
+   * @param openDuration       how long the circuit stays open before a trial call is let through
+   */
+  public record Resilience(
+      @DefaultValue("10s") Duration timeout,
+      @DefaultValue("16") int maxConcurrentCalls,
+      @DefaultValue("5") int failureThreshold,
+      @DefaultValue("30s") Duration openDuration
+  ) {
+
+  }
+
+  /**
+   * Configuration properties for the batching of concurrent requests into single calls to the enhancement service.
+   *
+   * @param enabled      whether requests are batched, instead of calling the enhancement service once per request
+   * @param window       how long a batch collects requests after the first one arrived
+   * @param maxBatchSize the maximum number of requests in a batch
+   */
+  public record Batching(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("50ms") Duration window,
+      @DefaultValue("16") int maxBatchSize
+  ) {
+
+  }
+}
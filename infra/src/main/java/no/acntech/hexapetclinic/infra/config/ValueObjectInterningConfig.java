@@ -0,0 +1,73 @@
+package no.acntech.hexapetclinic.infra.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.model.ValueObjectInterners;
+import no.acntech.hexapetclinic.domain.model.framework.ValueObjectInterner;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ValueObjectInterningConfig extends BaseInfraConfig {
+
+  @Bean
+  public ValueObjectInterning valueObjectInterning(ValueObjectInterningProperties properties) {
+    return new ValueObjectInterning(properties);
+  }
+
+  @Bean
+  public MeterBinder valueObjectInterningMetrics() {
+    return registry -> ValueObjectInterners.all().forEach(interner -> bindTo(registry, interner));
+  }
+
+  private static void bindTo(MeterRegistry registry, ValueObjectInterner<?, ?> interner) {
+    FunctionCounter.builder("value.object.interner.requests", interner, ValueObjectInterner::hitCount)
+        .tag("type", interner.getName())
+        .tag("result", "hit")
+        .description("The number of value objects served from the interning cache")
+        .register(registry);
+    FunctionCounter.builder("value.object.interner.requests", interner, ValueObjectInterner::missCount)
+        .tag("type", interner.getName())
+        .tag("result", "miss")
+        .description("The number of value objects created and added to the interning cache")
+        .register(registry);
+    Gauge.builder("value.object.interner.size", interner, ValueObjectInterner::size)
+        .tag("type", interner.getName())
+        .description("The approximate number of interned value objects")
+        .register(registry);
+  }
+
+  /**
+   * Turns the process-global {@link ValueObjectInterners} on or off once all singletons have been created, and off again when the
+   * context is closed, so that whether value objects are interned follows the configuration of the running context.
+   */
+  @Slf4j
+  static class ValueObjectInterning implements SmartInitializingSingleton, DisposableBean {
+
+    private final ValueObjectInterningProperties properties;
+
+    ValueObjectInterning(ValueObjectInterningProperties properties) {
+      this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+      if (properties.enabled()) {
+        log.debug("Interning up to {} value objects per type", properties.maximumSize());
+        ValueObjectInterners.enableAll(properties.maximumSize());
+      } else {
+        ValueObjectInterners.disableAll();
+      }
+    }
+
+    @Override
+    public void destroy() {
+      ValueObjectInterners.disableAll();
+    }
+  }
+}
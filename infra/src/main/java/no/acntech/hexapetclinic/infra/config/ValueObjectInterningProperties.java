@@ -0,0 +1,19 @@
+package no.acntech.hexapetclinic.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the interning of value objects created from external input, see
+ * {@link no.acntech.hexapetclinic.domain.model.ValueObjectInterners}.
+ *
+ * @param enabled     whether value objects are interned
+ * @param maximumSize the maximum number of interned value objects per value object type
+ */
+@ConfigurationProperties("application.value-object-interning")
+public record ValueObjectInterningProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10000") long maximumSize
+) {
+
+}
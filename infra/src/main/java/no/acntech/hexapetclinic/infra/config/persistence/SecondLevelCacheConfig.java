@@ -0,0 +1,33 @@
+package no.acntech.hexapetclinic.infra.config.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import no.acntech.hexapetclinic.infra.config.BaseInfraConfig;
+import no.acntech.hexapetclinic.infra.persistence.jpa.cache.GuavaRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the Hibernate second-level cache.
+ *
+ * When enabled, the entities and natural ids marked as cacheable are kept in local {@link GuavaRegionFactory} regions, and Hibernate
+ * updates or evicts them as part of every transaction writing them. When disabled, every read goes to the database.
+ */
+@Configuration
+public class SecondLevelCacheConfig extends BaseInfraConfig {
+
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(SecondLevelCacheProperties properties, MeterRegistry meterRegistry) {
+    return hibernateProperties -> {
+      if (!properties.enabled()) {
+        hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+        return;
+      }
+      log.debug("Caching up to {} entries per second-level cache region for {}", properties.maximumSize(), properties.timeToLive());
+      hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY,
+          new GuavaRegionFactory(properties.maximumSize(), properties.timeToLive(), meterRegistry));
+    };
+  }
+}
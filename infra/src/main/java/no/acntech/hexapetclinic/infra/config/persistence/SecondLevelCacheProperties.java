@@ -0,0 +1,21 @@
+package no.acntech.hexapetclinic.infra.config.persistence;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the Hibernate second-level cache of owners and pets.
+ *
+ * @param enabled     whether entities and natural ids are cached between sessions
+ * @param maximumSize the maximum number of entries in each cache region
+ * @param timeToLive  how long an entry is kept after it was added to a cache region
+ */
+@ConfigurationProperties("application.second-level-cache")
+public record SecondLevelCacheProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("10m") Duration timeToLive
+) {
+
+}
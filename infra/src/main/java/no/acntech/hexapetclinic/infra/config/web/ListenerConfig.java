@@ -3,8 +3,8 @@ package no.acntech.hexapetclinic.infra.config.web;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletRequestEvent;
 import jakarta.servlet.ServletRequestListener;
-import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.TimeUnit;
 import no.acntech.hexapetclinic.infra.config.BaseInfraConfig;
 import org.slf4j.MDC;
 import org.springframework.boot.web.servlet.ServletListenerRegistrationBean;
@@ -19,9 +19,14 @@ import org.springframework.context.annotation.Configuration;
  *
  * The registered listener intercepts request initialization and destruction events and:
  * - Records the request and response timestamps in servlet request attributes.
+ * - Records the start of the request on the monotonic clock ({@link System#nanoTime()}), from which the processing time in the
+ *   metadata of the response is measured.
  * - Logs detailed trace information about the request lifecycle, such as initialization time,
  *   destruction time, and total duration.
  * - Cleans up logging context information upon request destruction.
+ *
+ * The latency of requests is recorded by Spring Boot, in the {@code http.server.requests} timer, with the histograms configured under
+ * {@code management.metrics.distribution}.
  */
 @Configuration
 public class ListenerConfig extends BaseInfraConfig {
@@ -51,17 +56,17 @@ public class ListenerConfig extends BaseInfraConfig {
 
   private void recordRequestInitialization(ServletRequest request) {
     request.setAttribute(ServletAttributeNames.REQUEST_TIMESTAMP, Instant.now());
+    request.setAttribute(ServletAttributeNames.REQUEST_START_NANOS, System.nanoTime());
     if (log.isTraceEnabled()) {
       log.trace("ServletRequest initialized [{}] for path [{}]", request.getRemoteAddr(), request.getServletContext().getContextPath());
     }
   }
 
   private void recordRequestDestruction(ServletRequest request) {
-    Instant now = Instant.now();
-    request.setAttribute(ServletAttributeNames.RESPONSE_TIMESTAMP, now);
+    request.setAttribute(ServletAttributeNames.RESPONSE_TIMESTAMP, Instant.now());
     if (log.isTraceEnabled()) {
-      Instant reqTimestamp = (Instant) request.getAttribute(ServletAttributeNames.REQUEST_TIMESTAMP);
-      log.trace("ServletRequest destroyed [{}], took [{}] ms", request.getRemoteAddr(), Duration.between(reqTimestamp, now).toMillis());
+      long elapsedNanos = System.nanoTime() - (long) request.getAttribute(ServletAttributeNames.REQUEST_START_NANOS);
+      log.trace("ServletRequest destroyed [{}], took [{}] ms", request.getRemoteAddr(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
     }
   }
 
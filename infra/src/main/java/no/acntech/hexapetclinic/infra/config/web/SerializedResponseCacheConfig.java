@@ -0,0 +1,21 @@
+package no.acntech.hexapetclinic.infra.config.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import no.acntech.hexapetclinic.infra.config.BaseInfraConfig;
+import no.acntech.hexapetclinic.infra.controller.SerializedResponseCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SerializedResponseCacheConfig extends BaseInfraConfig {
+
+  @Bean
+  public SerializedResponseCache serializedResponseCache(
+      SerializedResponseCacheProperties properties,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    log.debug("Caching up to {} serialized responses for {}", properties.maximumSize(), properties.timeToLive());
+    return new SerializedResponseCache(objectMapper, properties.maximumSize(), properties.timeToLive(), meterRegistry);
+  }
+}
@@ -0,0 +1,19 @@
+package no.acntech.hexapetclinic.infra.config.web;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the cache of serialized single-entity responses.
+ *
+ * @param maximumSize the maximum number of cached responses
+ * @param timeToLive  how long a response is cached after it was serialized
+ */
+@ConfigurationProperties("application.serialized-response-cache")
+public record SerializedResponseCacheProperties(
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("10m") Duration timeToLive
+) {
+
+}
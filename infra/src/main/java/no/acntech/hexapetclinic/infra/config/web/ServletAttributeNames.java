@@ -8,4 +8,5 @@ public final class ServletAttributeNames {
 
   public static final String REQUEST_TIMESTAMP = "req-ts";
   public static final String RESPONSE_TIMESTAMP = "res-ts";
+  public static final String REQUEST_START_NANOS = "req-start-ns";
 }
@@ -7,10 +7,15 @@ import org.slf4j.LoggerFactory;
  * BaseController class serves as a base class for other controllers in the application.
  * <p>
  * This class provides a logging utility by initializing a protected logger instance which can be used by the subclasses for logging
- * purposes.
+ * purposes. It also holds the defaults shared by the paginated listing endpoints.
  */
 public class BaseController {
 
+  /**
+   * Page size used by the listing endpoints when the client does not provide a {@code limit}.
+   */
+  protected static final String DEFAULT_PAGE_LIMIT = "100";
+
   protected Logger log = LoggerFactory.getLogger(this.getClass());
 
 }
@@ -1,13 +1,17 @@
 package no.acntech.hexapetclinic.infra.controller;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import no.acntech.hexapetclinic.app.dto.DataTransferObjects.PageDto;
 import no.acntech.hexapetclinic.app.dto.DataTransferObjects.OwnerCreationDto;
 import no.acntech.hexapetclinic.app.dto.DataTransferObjects.OwnerResponseDto;
 import no.acntech.hexapetclinic.app.service.AppService;
+import no.acntech.hexapetclinic.domain.model.Owner;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +20,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -44,6 +49,9 @@ public class OwnerController extends BaseController {
   // Autowired AppService through constructor injection (using lombok's @RequiredArgsConstructor).
   private final AppService appService;
 
+  // Cache of serialized owners, answering conditional requests based on their ETags
+  private final SerializedResponseCache serializedResponseCache;
+
   @Operation(summary = "Create a new owner")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "201", description = "Owner successfully created"),
@@ -69,29 +77,35 @@ public class OwnerController extends BaseController {
   @Operation(summary = "Get owner by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Owner found"),
+      @ApiResponse(responseCode = "304", description = "Owner not modified since the ETag given in If-None-Match"),
       @ApiResponse(responseCode = "404", description = "Owner not found"),
       @ApiResponse(responseCode = "500", description = "Internal server error")
   })
   @GetMapping("/{id}")
-  public ResponseEntity<ResponseDto<OwnerResponseDto>> getOwnerById(@PathVariable("id") Long id) {
-    // Delegate to service to retrieve an owner by ID
-    OwnerResponseDto ownerResponseDto = appService.getOwnerById(id);
-
-    // Wrap the response with ResponseDto
-    return ResponseEntity.ok(new ResponseDto<>(ownerResponseDto));
+  public ResponseEntity<ResponseDto<RawValue>> getOwnerById(@PathVariable("id") Long id) {
+    // Serve the serialized owner from the cache, delegating to service to retrieve it on a miss
+    return serializedResponseCache.get("/owners/" + id,
+        () -> appService.getOwnerById(id),
+        owner -> event -> event.concerns(Owner.class, owner.id()));
   }
 
   @Operation(summary = "Get all owners")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Owners retrieved successfully"),
+      @ApiResponse(responseCode = "400", description = "Non-positive page limit"),
       @ApiResponse(responseCode = "500", description = "Internal server error")
   })
   @GetMapping
-  public ResponseEntity<ResponseDto<List<OwnerResponseDto>>> getAllOwners() {
-    // Delegate to service to retrieve all owners
-    List<OwnerResponseDto> ownerResponseDtos = appService.getAllOwners();
+  public ResponseEntity<ResponseDto<List<OwnerResponseDto>>> getAllOwners(
+      @Parameter(description = "Identifier of the last owner of the previous page; omit to fetch the first page")
+      @RequestParam(name = "after", required = false) Long after,
+      @Parameter(description = "Maximum number of owners to return")
+      @RequestParam(name = "limit", defaultValue = DEFAULT_PAGE_LIMIT) int limit) {
+    // Delegate to service to retrieve a page of owners
+    PageDto<OwnerResponseDto> page = appService.getAllOwners(after, limit);
 
-    // Wrap the response with ResponseDto
-    return ResponseEntity.ok(new ResponseDto<>(ownerResponseDtos));
+    // Wrap the response with ResponseDto, passing the cursor for the next page as metadata
+    return ResponseEntity.ok(new ResponseDto<>(page.items())
+        .withNextCursor(page.nextCursor()));
   }
 }
\ No newline at end of file
@@ -1,13 +1,24 @@
 package no.acntech.hexapetclinic.infra.controller;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Predicate;
 import lombok.RequiredArgsConstructor;
+import no.acntech.hexapetclinic.app.dto.DataTransferObjects.PageDto;
 import no.acntech.hexapetclinic.app.dto.DataTransferObjects.PetCreationDto;
 import no.acntech.hexapetclinic.app.dto.DataTransferObjects.PetResponseDto;
+import no.acntech.hexapetclinic.app.dto.DataTransferObjects.VisitResponseDto;
+import no.acntech.hexapetclinic.app.event.EntityChangedEvent;
 import no.acntech.hexapetclinic.app.service.AppService;
+import no.acntech.hexapetclinic.domain.model.Owner;
+import no.acntech.hexapetclinic.domain.model.Pet;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +27,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -31,6 +43,8 @@ public class PetController extends BaseController {
 
   private final AppService appService;
 
+  private final SerializedResponseCache serializedResponseCache;
+
   @Operation(summary = "Create a new pet")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "201", description = "Pet successfully created"),
@@ -56,44 +70,78 @@ public class PetController extends BaseController {
   @Operation(summary = "Get pet by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Pet found"),
+      @ApiResponse(responseCode = "304", description = "Pet not modified since the ETag given in If-None-Match"),
       @ApiResponse(responseCode = "404", description = "Pet not found"),
       @ApiResponse(responseCode = "500", description = "Internal server error")
   })
   @GetMapping("/{id}")
-  public ResponseEntity<ResponseDto<PetResponseDto>> getPetById(@PathVariable("id") Long id) {
-    // Delegate to service to retrieve a single pet
-    PetResponseDto petResponseDto = appService.getPetById(id);
-
-    // Wrap the response with ResponseDto
-    return ResponseEntity.ok(new ResponseDto<>(petResponseDto));
+  public ResponseEntity<ResponseDto<RawValue>> getPetById(@PathVariable("id") Long id) {
+    // Serve the serialized pet from the cache, delegating to service to retrieve it on a miss
+    return serializedResponseCache.get("/pets/" + id, () -> appService.getPetById(id), PetController::dependencies);
   }
 
   @Operation(summary = "Get pet by identifier")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Pet found"),
+      @ApiResponse(responseCode = "304", description = "Pet not modified since the ETag given in If-None-Match"),
       @ApiResponse(responseCode = "404", description = "Pet not found"),
       @ApiResponse(responseCode = "500", description = "Internal server error")
   })
   @GetMapping("/identifier/{identifier}")
-  public ResponseEntity<ResponseDto<PetResponseDto>> getPetByIdentifier(@PathVariable("identifier") String identifier) {
-    // Delegate to service to retrieve pet by identifier
-    PetResponseDto petResponseDto = appService.getPetByIdentifier(identifier);
+  public ResponseEntity<ResponseDto<RawValue>> getPetByIdentifier(@PathVariable("identifier") String identifier) {
+    // Delegate to service, which caches the pets looked up by identifier, and serialize the pet with its ETag
+    return serializedResponseCache.render(appService.getPetByIdentifier(identifier));
+  }
 
-    // Wrap the response with ResponseDto
-    return ResponseEntity.ok(new ResponseDto<>(petResponseDto));
+  @Operation(summary = "Get the visits of a pet within a time range, in time order")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Visits retrieved successfully"),
+      @ApiResponse(responseCode = "400", description = "Empty time range, non-positive page limit or unknown cursor"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @GetMapping("/identifier/{identifier}/visits")
+  public ResponseEntity<ResponseDto<List<VisitResponseDto>>> getPetVisits(
+      @PathVariable("identifier") String identifier,
+      @Parameter(description = "Earliest time of the visits to return (inclusive), as an ISO-8601 instant; omit for no lower bound")
+      @RequestParam(name = "from", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+      @Parameter(description = "Latest time of the visits to return (exclusive), as an ISO-8601 instant; omit for no upper bound")
+      @RequestParam(name = "to", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+      @Parameter(description = "Identifier of the last visit of the previous page; omit to fetch the first page")
+      @RequestParam(name = "after", required = false) Long after,
+      @Parameter(description = "Maximum number of visits to return")
+      @RequestParam(name = "limit", defaultValue = DEFAULT_PAGE_LIMIT) int limit) {
+    // Delegate to service to retrieve a page of the visits of the pet
+    PageDto<VisitResponseDto> page = appService.getPetVisits(identifier, from, to, after, limit);
+
+    // Wrap the response with ResponseDto, passing the cursor for the next page as metadata
+    return ResponseEntity.ok(new ResponseDto<>(page.items())
+        .withNextCursor(page.nextCursor()));
   }
 
   @Operation(summary = "Get all pets")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Pets retrieved successfully"),
+      @ApiResponse(responseCode = "400", description = "Non-positive page limit"),
       @ApiResponse(responseCode = "500", description = "Internal server error")
   })
   @GetMapping
-  public ResponseEntity<ResponseDto<List<PetResponseDto>>> getAllPets() {
-    // Delegate to service to retrieve all pets
-    List<PetResponseDto> petResponseDtos = appService.getAllPets();
+  public ResponseEntity<ResponseDto<List<PetResponseDto>>> getAllPets(
+      @Parameter(description = "Identifier of the last pet of the previous page; omit to fetch the first page")
+      @RequestParam(name = "after", required = false) Long after,
+      @Parameter(description = "Maximum number of pets to return")
+      @RequestParam(name = "limit", defaultValue = DEFAULT_PAGE_LIMIT) int limit) {
+    // Delegate to service to retrieve a page of pets
+    PageDto<PetResponseDto> page = appService.getAllPets(after, limit);
+
+    // Wrap the response with ResponseDto, passing the cursor for the next page as metadata
+    return ResponseEntity.ok(new ResponseDto<>(page.items())
+        .withNextCursor(page.nextCursor()));
+  }
 
-    // Wrap the response with ResponseDto
-    return ResponseEntity.ok(new ResponseDto<>(petResponseDtos));
+  /**
+   * A rendered pet is out of date once the pet itself or its owner has changed.
+   */
+  private static Predicate<EntityChangedEvent> dependencies(PetResponseDto pet) {
+    return event -> event.concerns(Pet.class, pet.id()) || event.concerns(Owner.class, pet.ownerId());
   }
 }
\ No newline at end of file
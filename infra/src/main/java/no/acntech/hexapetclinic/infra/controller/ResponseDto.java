@@ -1,11 +1,7 @@
 package no.acntech.hexapetclinic.infra.controller;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
 import lombok.Getter;
-import no.acntech.hexapetclinic.utils.collections.CollectionUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
@@ -18,14 +14,13 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 @Getter
 public class ResponseDto<T> {
 
-  public static final String TIMESTAMP_KEY = "timestamp";
+  public static final String TIMESTAMP_KEY = ResponseMeta.TIMESTAMP_KEY;
+  public static final String NEXT_CURSOR_KEY = ResponseMeta.NEXT_CURSOR_KEY;
 
   @Schema(description = "The actual response data.")
   private final T data;
 
-  @Schema(description = "Metadata associated with the response, including a timestamp.",
-      example = "{ \"timestamp\": \"2024-12-01T12:00:00Z\" }")
-  private final Map<String, Object> meta = new HashMap<>();
+  private final ResponseMeta meta = new ResponseMeta();
 
   public ResponseDto() {
     this(null);
@@ -33,13 +28,34 @@ public class ResponseDto<T> {
 
   public ResponseDto(T data) {
     this.data = data;
-    this.meta.put(TIMESTAMP_KEY, Instant.now());
+  }
+
+  /**
+   * Sets the cursor of the next page in the metadata of this response. A null cursor is left out of the response.
+   *
+   * @param nextCursor the cursor of the next page, may be null
+   * @return this response
+   */
+  public ResponseDto<T> withNextCursor(Long nextCursor) {
+    meta.setNextCursor(nextCursor);
+    return this;
+  }
+
+  /**
+   * Sets an error message in the metadata of this response. A null message is left out of the response.
+   *
+   * @param error the error message, may be null
+   * @return this response
+   */
+  public ResponseDto<T> withError(String error) {
+    meta.setError(error);
+    return this;
   }
 
   @Override
   public String toString() {
     return new ToStringBuilder(this, ToStringStyle.MULTI_LINE_STYLE)
-        .append("meta\n", CollectionUtils.prettyPrint(meta))
+        .append("meta\n", meta)
         .append("data", data)
         .toString();
   }
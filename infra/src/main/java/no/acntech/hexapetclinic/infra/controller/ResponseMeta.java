@@ -0,0 +1,110 @@
+package no.acntech.hexapetclinic.infra.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Metadata of a {@link ResponseDto}, with a fixed set of fields.
+ * <p>
+ * The timestamp is the time the request was received, recorded once per request, and the processing time is kept in nanoseconds, as
+ * measured on the monotonic clock from the start of the request. Both are filled in by
+ * {@link no.acntech.hexapetclinic.infra.controller.advice.ResponseDtoBodyAdvice} just before the response is written. The metadata is
+ * written by its own serializer, which leaves out the fields that are not set and formats the processing time without intermediate
+ * objects.
+ */
+@Schema(description = "Metadata associated with the response, including a timestamp.",
+    example = "{ \"timestamp\": \"2024-12-01T12:00:00Z\", \"http_status\": \"OK\", \"processing_time\": \"00.012\" }")
+@JsonSerialize(using = ResponseMeta.Serializer.class)
+@Getter
+@Setter
+public class ResponseMeta {
+
+  public static final String TIMESTAMP_KEY = "timestamp";
+  public static final String HTTP_STATUS_KEY = "http_status";
+  public static final String PROCESSING_TIME_KEY = "processing_time";
+  public static final String NEXT_CURSOR_KEY = "next_cursor";
+  public static final String ERROR_KEY = "error";
+
+  private static final int UNSET = -1;
+
+  private Instant timestamp; // Time of serialization if not set
+  private int httpStatus = UNSET;
+  private long processingTimeNanos = UNSET;
+  private Long nextCursor;
+  private String error;
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, ToStringStyle.MULTI_LINE_STYLE)
+        .append(TIMESTAMP_KEY, timestamp)
+        .append(HTTP_STATUS_KEY, httpStatus)
+        .append(PROCESSING_TIME_KEY, processingTimeNanos)
+        .append(NEXT_CURSOR_KEY, nextCursor)
+        .append(ERROR_KEY, error)
+        .toString();
+  }
+
+  /**
+   * Writes the metadata as a JSON object, with the HTTP status by name and the processing time as seconds and milliseconds
+   * ({@code ss.SSS}).
+   */
+  public static class Serializer extends StdSerializer<ResponseMeta> {
+
+    public Serializer() {
+      super(ResponseMeta.class);
+    }
+
+    @Override
+    public void serialize(ResponseMeta meta, JsonGenerator generator, SerializerProvider provider) throws IOException {
+      generator.writeStartObject(meta);
+      generator.writeStringField(TIMESTAMP_KEY, (meta.timestamp != null ? meta.timestamp : Instant.now()).toString());
+      if (meta.httpStatus != UNSET) {
+        HttpStatus status = HttpStatus.resolve(meta.httpStatus);
+        if (status != null) {
+          generator.writeStringField(HTTP_STATUS_KEY, status.name());
+        } else {
+          generator.writeNumberField(HTTP_STATUS_KEY, meta.httpStatus);
+        }
+      }
+      if (meta.processingTimeNanos != UNSET) {
+        generator.writeFieldName(PROCESSING_TIME_KEY);
+        writeSecondsAndMillis(TimeUnit.NANOSECONDS.toMillis(meta.processingTimeNanos), generator);
+      }
+      if (meta.nextCursor != null) {
+        generator.writeNumberField(NEXT_CURSOR_KEY, meta.nextCursor);
+      }
+      if (meta.error != null) {
+        generator.writeStringField(ERROR_KEY, meta.error);
+      }
+      generator.writeEndObject();
+    }
+
+    private static void writeSecondsAndMillis(long millis, JsonGenerator generator) throws IOException {
+      // Same format as TimeFormatUtils.formatDurationAsSecondsAndMillis: at least two digits of seconds, and three of milliseconds
+      long seconds = Math.max(millis, 0) / 1000;
+      int fraction = (int) (Math.max(millis, 0) % 1000);
+      char[] chars = new char[Math.max(2, (int) Math.log10(Math.max(seconds, 1)) + 1) + 4];
+      int end = chars.length;
+      chars[--end] = (char) ('0' + fraction % 10);
+      chars[--end] = (char) ('0' + fraction / 10 % 10);
+      chars[--end] = (char) ('0' + fraction / 100);
+      chars[--end] = '.';
+      while (end > 0) {
+        chars[--end] = (char) ('0' + seconds % 10);
+        seconds /= 10;
+      }
+      generator.writeString(chars, 0, chars.length);
+    }
+  }
+}
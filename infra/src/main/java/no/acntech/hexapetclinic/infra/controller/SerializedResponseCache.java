@@ -0,0 +1,149 @@
+package no.acntech.hexapetclinic.infra.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import no.acntech.hexapetclinic.app.event.EntityChangedEvent;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache of the serialized data of single-entity responses, with a strong ETag per entry, for conditional GETs.
+ * <p>
+ * On a hit the cached JSON is written as is, wrapped in a {@link ResponseDto} as a {@link RawValue}, so only the metadata of the
+ * response is serialized. The ETag is a hash of the serialized data, so it changes exactly when the representation of the entity
+ * changes, and a request whose {@code If-None-Match} matches it is answered with {@code 304 Not Modified} without calling the service
+ * layer at all.
+ * <p>
+ * Entries are evicted once a transaction saving or deleting an entity they depend on has committed (see {@link EntityChangedEvent}).
+ * A response rendered while such an eviction happens is returned, but not cached. Entities are written far less often than they are
+ * read, so evictions simply scan the cached entries.
+ * <p>
+ * Data already cached by the application layer, such as the pets looked up by identifier, is not cached again here. Such responses
+ * are {@linkplain #render(Object) rendered} on every request instead, with the same ETag, so conditional requests are still answered
+ * with {@code 304 Not Modified}.
+ */
+public class SerializedResponseCache {
+
+  public static final String CACHE_NAME = "serializedResponses";
+
+  private final ObjectMapper objectMapper;
+  private final Cache<String, Entry> cache;
+  private final AtomicLong evictions = new AtomicLong(); // Incremented before every eviction, so racing loads can detect it
+
+  /**
+   * Creates a cache of serialized responses.
+   *
+   * @param objectMapper  the mapper serializing the data of the responses
+   * @param maximumSize   the maximum number of cached responses
+   * @param timeToLive    how long a response is cached after it was serialized
+   * @param meterRegistry the registry the cache statistics are published to
+   */
+  public SerializedResponseCache(
+      @NonNull ObjectMapper objectMapper,
+      long maximumSize,
+      @NonNull Duration timeToLive,
+      @NonNull MeterRegistry meterRegistry) {
+    this.objectMapper = objectMapper;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build();
+    GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Returns the response for the given key, with its ETag, serializing the data returned by the loader on a cache miss. Conditional
+   * requests are answered with {@code 304 Not Modified} by Spring MVC, based on the ETag of the returned response.
+   *
+   * @param key        the key of the response, unique across all cached resources, e.g. the request path
+   * @param loader     returns the data of the response on a cache miss; exceptions are propagated and nothing is cached
+   * @param dependsOn  returns, for the loaded data, whether it depends on a changed entity, i.e. whether the cached response must be
+   *                   evicted on that change
+   * @param <D>        the type of the data of the response
+   * @return the response
+   */
+  public <D> ResponseEntity<ResponseDto<RawValue>> get(
+      @NonNull String key,
+      @NonNull Supplier<D> loader,
+      @NonNull Function<D, Predicate<EntityChangedEvent>> dependsOn) {
+    Entry entry = cache.getIfPresent(key);
+    if (entry == null) {
+      long evictionsBefore = evictions.get();
+      D data = loader.get();
+      entry = serialize(data, dependsOn.apply(data));
+      if (evictions.get() == evictionsBefore) {
+        cache.put(key, entry);
+        if (evictions.get() != evictionsBefore) {
+          cache.asMap().remove(key, entry); // Evicted while being cached, the serialized data may be out of date
+        }
+      }
+    }
+    return toResponse(entry);
+  }
+
+  /**
+   * Returns the response for the given data, with its ETag, without caching it. For data served from a cache of its own.
+   *
+   * @param data the data of the response
+   * @param <D>  the type of the data of the response
+   * @return the response
+   */
+  public <D> ResponseEntity<ResponseDto<RawValue>> render(@NonNull D data) {
+    return toResponse(serialize(data, event -> false));
+  }
+
+  /**
+   * Evicts the responses depending on a committed change of an entity.
+   *
+   * @param event the change of an entity
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onEntityChanged(@NonNull EntityChangedEvent event) {
+    evictions.incrementAndGet();
+    cache.asMap().values().removeIf(entry -> entry.dependsOn().test(event));
+  }
+
+  /**
+   * Evicts all cached responses.
+   */
+  public void evictAll() {
+    evictions.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  private static ResponseEntity<ResponseDto<RawValue>> toResponse(Entry entry) {
+    return ResponseEntity.ok()
+        .eTag(entry.eTag())
+        .body(new ResponseDto<>(new RawValue(entry.json())));
+  }
+
+  private Entry serialize(Object data, Predicate<EntityChangedEvent> dependsOn) {
+    try {
+      String json = objectMapper.writeValueAsString(data);
+      String eTag = '"' + Hashing.murmur3_128().hashString(json, StandardCharsets.UTF_8).toString() + '"';
+      return new Entry(json, eTag, dependsOn);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private record Entry(String json, String eTag, Predicate<EntityChangedEvent> dependsOn) {
+
+  }
+}
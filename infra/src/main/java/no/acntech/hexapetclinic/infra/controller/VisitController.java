@@ -1,22 +1,36 @@
 package no.acntech.hexapetclinic.infra.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
+import no.acntech.hexapetclinic.app.dto.DataTransferObjects.PageDto;
 import no.acntech.hexapetclinic.app.dto.DataTransferObjects.VisitCreationDto;
 import no.acntech.hexapetclinic.app.dto.DataTransferObjects.VisitResponseDto;
 import no.acntech.hexapetclinic.app.service.AppService;
+import no.acntech.hexapetclinic.domain.model.Visit;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * VisitController is responsible for handling API requests related to visits in the application.
@@ -30,17 +44,30 @@ import org.springframework.web.bind.annotation.RestController;
  *
  * Endpoints:
  * - POST /visits: Handles the creation of new visit records.
- * - GET /visits/{id}: Retrieves a visit by its unique identifier.
+ * - POST /visits/batch: Handles the creation of many visit records in a single transaction.
+ * - GET /visits/{id}: Retrieves a visit by its unique identifier, supporting conditional requests (ETag / If-None-Match).
  * - GET /visits: Retrieves the list of all visits.
+ * - GET /visits/stream: Streams all visits as newline-delimited JSON (NDJSON).
  */
 @RestController
 @RequestMapping("/visits")
 @RequiredArgsConstructor
 public class VisitController extends BaseController {
 
+  /**
+   * Number of streamed visits after which the output is flushed to the client.
+   */
+  private static final int STREAM_FLUSH_INTERVAL = 1000;
+
   // Dependency injection for AppService
   private final AppService appService;
 
+  // Dependency injection for the application's ObjectMapper, used for streaming serialization
+  private final ObjectMapper objectMapper;
+
+  // Dependency injection for the cache of serialized visits
+  private final SerializedResponseCache serializedResponseCache;
+
   @Operation(summary = "Create a new visit")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "201", description = "Visit successfully created"),
@@ -63,32 +90,89 @@ public class VisitController extends BaseController {
         .body(new ResponseDto<>(visitResponseDto));
   }
 
+  @Operation(summary = "Create many visits in a single batch")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "201", description = "Visits successfully created"),
+      @ApiResponse(responseCode = "400", description = "Invalid request"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @PostMapping("/batch")
+  public ResponseEntity<ResponseDto<List<VisitResponseDto>>> createVisits(@RequestBody List<VisitCreationDto> visitCreationDtos) {
+    // Delegate to service to handle creation of all visits in one transaction
+    List<VisitResponseDto> visitResponseDtos = appService.handleVisitBatchCreationDtos(visitCreationDtos);
+
+    // Wrap the response with ResponseDto
+    return ResponseEntity
+        .status(HttpStatus.CREATED)
+        .body(new ResponseDto<>(visitResponseDtos));
+  }
+
   @Operation(summary = "Get visit by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Visit found"),
+      @ApiResponse(responseCode = "304", description = "Visit not modified since the ETag given in If-None-Match"),
       @ApiResponse(responseCode = "404", description = "Visit not found"),
       @ApiResponse(responseCode = "500", description = "Internal server error")
   })
   @GetMapping("/{id}")
-  public ResponseEntity<ResponseDto<VisitResponseDto>> getVisitById(@PathVariable("id") Long id) {
-    // Retrieve a single visit by ID using the service
-    VisitResponseDto visitResponseDto = appService.getVisitById(id);
-
-    // Wrap the response with ResponseDto
-    return ResponseEntity.ok(new ResponseDto<>(visitResponseDto));
+  public ResponseEntity<ResponseDto<RawValue>> getVisitById(@PathVariable("id") Long id) {
+    // Serve the serialized visit from the cache, retrieving it by ID using the service on a miss
+    return serializedResponseCache.get("/visits/" + id,
+        () -> appService.getVisitById(id),
+        visit -> event -> event.concerns(Visit.class, visit.id()));
   }
 
   @Operation(summary = "Get all visits")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Visits retrieved successfully"),
+      @ApiResponse(responseCode = "400", description = "Non-positive page limit"),
       @ApiResponse(responseCode = "500", description = "Internal server error")
   })
   @GetMapping
-  public ResponseEntity<ResponseDto<List<VisitResponseDto>>> getAllVisits() {
-    // Retrieve all visits using the service
-    List<VisitResponseDto> visits = appService.getAllVisits();
+  public ResponseEntity<ResponseDto<List<VisitResponseDto>>> getAllVisits(
+      @Parameter(description = "Identifier of the last visit of the previous page; omit to fetch the first page")
+      @RequestParam(name = "after", required = false) Long after,
+      @Parameter(description = "Maximum number of visits to return")
+      @RequestParam(name = "limit", defaultValue = DEFAULT_PAGE_LIMIT) int limit) {
+    // Retrieve a page of visits using the service
+    PageDto<VisitResponseDto> page = appService.getAllVisits(after, limit);
 
-    // Wrap the response with ResponseDto
-    return ResponseEntity.ok(new ResponseDto<>(visits));
+    // Wrap the response with ResponseDto, passing the cursor for the next page as metadata
+    return ResponseEntity.ok(new ResponseDto<>(page.items())
+        .withNextCursor(page.nextCursor()));
+  }
+
+  @Operation(summary = "Stream all visits as newline-delimited JSON")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Visits streamed successfully"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @GetMapping("/stream")
+  public ResponseEntity<StreamingResponseBody> streamAllVisits() {
+    // Write each visit straight to the response as it is read, one JSON document per line. A database connection is held until the
+    // last visit is written, see AppService.exportAllVisits.
+    StreamingResponseBody body = outputStream -> {
+      ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        generator.setRootValueSeparator(null);
+        AtomicLong count = new AtomicLong();
+        appService.exportAllVisits(visit -> {
+          try {
+            writer.writeValue(generator, visit);
+            generator.writeRaw('\n');
+            if (count.incrementAndGet() % STREAM_FLUSH_INTERVAL == 0) {
+              generator.flush();
+            }
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        log.debug("Streamed {} visits", count.get());
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(body);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package no.acntech.hexapetclinic.infra.controller.advice;
+
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.app.service.InvalidArgumentException;
+import no.acntech.hexapetclinic.infra.controller.ResponseDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps invalid arguments to {@code 400 Bad Request}.
+ * <p>
+ * A request fails this way when the arguments it passes do not satisfy the preconditions of the application services (see
+ * {@link InvalidArgumentException}). The message of the exception states the precondition violated, and is returned as the error of
+ * the response. Other illegal arguments are faults of the server, and are not mapped here.
+ */
+@RestControllerAdvice
+@Slf4j
+public class InvalidArgumentAdvice {
+
+  @ExceptionHandler(InvalidArgumentException.class)
+  public ResponseEntity<ResponseDto<Void>> handleInvalidArgument(InvalidArgumentException exception) {
+    log.debug("Rejecting invalid argument: {}", exception.getMessage());
+    return ResponseEntity
+        .status(HttpStatus.BAD_REQUEST)
+        .body(new ResponseDto<Void>()
+            .withError(exception.getMessage()));
+  }
+}
@@ -0,0 +1,30 @@
+package no.acntech.hexapetclinic.infra.controller.advice;
+
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.infra.controller.ResponseDto;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps optimistic locking failures to {@code 409 Conflict}.
+ * <p>
+ * A request fails this way when it changes an entity that has been changed by a concurrent request since it was read, i.e. when the
+ * version of the entity no longer matches. The client is expected to read the entity again and retry its change.
+ */
+@RestControllerAdvice
+@Slf4j
+public class OptimisticLockingFailureAdvice {
+
+  @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+  public ResponseEntity<ResponseDto<Void>> handleOptimisticLockingFailure(RuntimeException exception) {
+    log.debug("Rejecting conflicting change: {}", exception.getMessage());
+    return ResponseEntity
+        .status(HttpStatus.CONFLICT)
+        .body(new ResponseDto<Void>()
+            .withError("The resource was changed concurrently, read it again and retry"));
+  }
+}
@@ -2,17 +2,13 @@ package no.acntech.hexapetclinic.infra.controller.advice;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Map;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import no.acntech.hexapetclinic.infra.config.web.ServletAttributeNames;
 import no.acntech.hexapetclinic.infra.controller.ResponseDto;
-import no.acntech.hexapetclinic.utils.time.TimeFormatUtils;
+import no.acntech.hexapetclinic.infra.controller.ResponseMeta;
 import org.springframework.core.MethodParameter;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
@@ -24,14 +20,16 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
 /**
  * Interceptor for ResponseDTO objects. Adds metadata to the response.
+ * <p>
+ * The timestamp of the response is the time the request was received, recorded once per request by the request listener (see
+ * {@link ServletAttributeNames#REQUEST_TIMESTAMP}). The processing time is measured on the monotonic clock, from the start of the
+ * request recorded by the same listener (see {@link ServletAttributeNames#REQUEST_START_NANOS}) until just before the response is
+ * written.
  */
 @ControllerAdvice
 @Slf4j
 public class ResponseDtoBodyAdvice implements ResponseBodyAdvice<Object> {
 
-  private static final String PARAM_HTTP_STATUS = "http_status";
-  private static final String PARAM_PROCESSING_TIME = "processing_time";
-
   @Override
   public boolean supports(@NonNull MethodParameter returnType, @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
     return true;
@@ -66,7 +64,7 @@ public class ResponseDtoBodyAdvice implements ResponseBodyAdvice<Object> {
   private void insertMetaData(ServerHttpRequest request, ServerHttpResponse response, ResponseDto<?> responseDto) {
     log.trace("insertMetaData: request = {}, response = {}, responseDto = {}", request, response, responseDto);
 
-    Map<String, Object> meta = responseDto.getMeta();
+    ResponseMeta meta = responseDto.getMeta();
     ServletServerHttpRequest servletRequest = (ServletServerHttpRequest) (request instanceof ServletServerHttpRequest ? request : null);
     ServletServerHttpResponse servletResponse =
         (ServletServerHttpResponse) (response instanceof ServletServerHttpResponse ? response : null);
@@ -75,21 +73,22 @@ public class ResponseDtoBodyAdvice implements ResponseBodyAdvice<Object> {
     }
   }
 
-  private void insertMetaData(HttpServletRequest request, HttpServletResponse response, Map<String, Object> map) {
-    insertProcessingTime(request, map);
-    insertHttpStatus(response, map);
+  private void insertMetaData(HttpServletRequest request, HttpServletResponse response, ResponseMeta meta) {
+    insertProcessingTime(request, meta);
+    insertHttpStatus(response, meta);
   }
 
-  private void insertHttpStatus(HttpServletResponse response, Map<String, Object> map) {
-    map.put(PARAM_HTTP_STATUS, HttpStatus.valueOf(response.getStatus()).name());
+  private void insertHttpStatus(HttpServletResponse response, ResponseMeta meta) {
+    meta.setHttpStatus(response.getStatus());
   }
 
-  private void insertProcessingTime(HttpServletRequest request, Map<String, Object> map) {
+  private void insertProcessingTime(HttpServletRequest request, ResponseMeta meta) {
     Instant requestTs = (Instant) request.getAttribute(ServletAttributeNames.REQUEST_TIMESTAMP);
     if (requestTs != null) {
-      long durationMillis = Instant.now().toEpochMilli() - requestTs.toEpochMilli();
-      Duration duration = Duration.of(durationMillis, ChronoUnit.MILLIS);
-      map.put(PARAM_PROCESSING_TIME, TimeFormatUtils.formatDurationAsSecondsAndMillis(duration));
+      meta.setTimestamp(requestTs);
+    }
+    if (request.getAttribute(ServletAttributeNames.REQUEST_START_NANOS) instanceof Long startNanos) {
+      meta.setProcessingTimeNanos(System.nanoTime() - startNanos);
     }
   }
 }
@@ -0,0 +1,96 @@
+package no.acntech.hexapetclinic.infra.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import lombok.NonNull;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Times the calls to the repository adapters, so that it can be seen how much of the time of a request goes to the database.
+ * <p>
+ * Every call through the proxy of a bean to a public method of a subclass of
+ * {@link no.acntech.hexapetclinic.infra.persistence.jpa.repository.adapter.AbstractRepositoryAdapter} is recorded in the timer
+ * {@value #REPOSITORY_TIMER}. The timer is tagged with the class and the method called, the outcome of the call ({@value #SUCCESS} or
+ * {@value #ERROR}) and the simple name of the exception thrown, if any, and publishes percentile histograms; its counts give the
+ * throughput.
+ * <p>
+ * The requests themselves are timed by Spring MVC, as {@code http.server.requests}. The pet description enhancer is timed by its
+ * decorators, and the calls to the enhancement service by the adapter making them, as
+ * {@value no.acntech.hexapetclinic.infra.adapter.PetDescriptionEnhancerAzureOpenAiAdapter#SERVICE_CALLS_TIMER}; a pointcut on the
+ * enhancer bean would only see the outermost decorator.
+ * <p>
+ * A call returning a {@link CompletionStage} is recorded when the stage completes, and its outcome is the outcome of the stage. The
+ * stage itself is returned to the caller, so cancelling it still reaches the called component. Other results, such as streams, are
+ * recorded when they are returned. Calls a component makes to its own methods do not pass through its proxy, and are not recorded
+ * separately.
+ */
+@Aspect
+public class MethodTimingAspect {
+
+  public static final String REPOSITORY_TIMER = "repository.calls";
+  public static final String CLASS_TAG = "class";
+  public static final String METHOD_TAG = "method";
+  public static final String OUTCOME_TAG = "outcome";
+  public static final String EXCEPTION_TAG = "exception";
+  public static final String SUCCESS = "SUCCESS";
+  public static final String ERROR = "ERROR";
+  public static final String NO_EXCEPTION = "none";
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Creates an aspect timing method calls.
+   *
+   * @param meterRegistry the registry the timers are published to
+   */
+  public MethodTimingAspect(@NonNull MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  // Matched on the target rather than the declaring type, to include the default methods of the ports
+  @Pointcut("execution(public * *(..)) && !execution(* java.lang.Object.*(..))"
+      + " && target(no.acntech.hexapetclinic.infra.persistence.jpa.repository.adapter.AbstractRepositoryAdapter)")
+  void repositoryMethod() {
+  }
+
+  @Around("repositoryMethod()")
+  public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(REPOSITORY_TIMER, joinPoint);
+  }
+
+  private Object time(String timerName, ProceedingJoinPoint joinPoint) throws Throwable {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    Object result;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable e) {
+      stop(sample, timerName, joinPoint, e);
+      throw e;
+    }
+    if (result instanceof CompletionStage<?> stage) {
+      stage.whenComplete((value, e) -> stop(sample, timerName, joinPoint, e));
+    } else {
+      stop(sample, timerName, joinPoint, null);
+    }
+    return result;
+  }
+
+  private void stop(Timer.Sample sample, String timerName, ProceedingJoinPoint joinPoint, Throwable exception) {
+    Throwable cause = (exception instanceof CompletionException || exception instanceof ExecutionException)
+        && exception.getCause() != null ? exception.getCause() : exception;
+    sample.stop(Timer.builder(timerName)
+        .tag(CLASS_TAG, ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName())
+        .tag(METHOD_TAG, joinPoint.getSignature().getName())
+        .tag(OUTCOME_TAG, cause == null ? SUCCESS : ERROR)
+        .tag(EXCEPTION_TAG, cause == null ? NO_EXCEPTION : cause.getClass().getSimpleName())
+        .publishPercentileHistogram()
+        .register(meterRegistry));
+  }
+}
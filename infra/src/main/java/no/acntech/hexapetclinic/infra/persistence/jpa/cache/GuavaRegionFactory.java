@@ -0,0 +1,85 @@
+package no.acntech.hexapetclinic.infra.persistence.jpa.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.time.Duration;
+import java.util.Map;
+import lombok.NonNull;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Hibernate second-level cache provider keeping the cached entities and natural ids in local, in-process Guava caches.
+ * <p>
+ * Every entity and natural-id region gets its own cache, bounded in size and with a time-to-live, so rarely read rows are eventually
+ * dropped and rows changed outside of Hibernate are not served forever. The statistics of each region are published with
+ * {@link GuavaCacheMetrics}, tagged with the name of the region.
+ * <p>
+ * The query cache is not used, but is supported. Its timestamps region is never bounded, as evicting a timestamp could make a stale
+ * query result look current.
+ */
+public class GuavaRegionFactory extends RegionFactoryTemplate {
+
+  private static final String METRICS_NAME_PREFIX = "hibernate.";
+
+  private final long maximumSize;
+  private final Duration timeToLive;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Creates a region factory with the given bounds for every entity, natural-id and query result region.
+   *
+   * @param maximumSize   the maximum number of entries in each region
+   * @param timeToLive    how long an entry is kept after it was added to a region
+   * @param meterRegistry the registry the statistics of each region are published to
+   */
+  public GuavaRegionFactory(long maximumSize, @NonNull Duration timeToLive, @NonNull MeterRegistry meterRegistry) {
+    this.maximumSize = maximumSize;
+    this.timeToLive = timeToLive;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected DomainDataStorageAccess createDomainDataStorageAccess(
+      DomainDataRegionConfig regionConfig,
+      DomainDataRegionBuildingContext buildingContext) {
+    return boundedStorage(regionConfig.getRegionName());
+  }
+
+  @Override
+  protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+    return boundedStorage(regionName);
+  }
+
+  @Override
+  protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+    return new GuavaStorageAccess(CacheBuilder.newBuilder().build());
+  }
+
+  @Override
+  protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    // Nothing to start, the caches are created per region
+  }
+
+  @Override
+  protected void releaseFromUse() {
+    // Nothing to stop, each region releases its own cache
+  }
+
+  private GuavaStorageAccess boundedStorage(String regionName) {
+    Cache<Object, Object> cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build();
+    GuavaCacheMetrics.monitor(meterRegistry, cache, METRICS_NAME_PREFIX + regionName);
+    return new GuavaStorageAccess(cache);
+  }
+}
@@ -0,0 +1,48 @@
+package no.acntech.hexapetclinic.infra.persistence.jpa.cache;
+
+import com.google.common.cache.Cache;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Storage of a single second-level cache region in a Guava {@link Cache}. Consistency with the database, e.g. soft locks while an
+ * entity is being updated, is handled by the Hibernate access strategy on top of this storage.
+ */
+@RequiredArgsConstructor
+class GuavaStorageAccess implements DomainDataStorageAccess {
+
+  @NonNull
+  private final Cache<Object, Object> cache;
+
+  @Override
+  public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+    return cache.getIfPresent(key);
+  }
+
+  @Override
+  public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+    cache.put(key, value);
+  }
+
+  @Override
+  public boolean contains(Object key) {
+    return cache.asMap().containsKey(key);
+  }
+
+  @Override
+  public void evictData() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public void evictData(Object key) {
+    cache.invalidate(key);
+  }
+
+  @Override
+  public void release() {
+    cache.invalidateAll();
+  }
+}
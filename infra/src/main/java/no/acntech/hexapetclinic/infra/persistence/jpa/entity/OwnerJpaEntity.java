@@ -6,6 +6,7 @@ import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 import java.util.Collections;
@@ -26,9 +27,12 @@ import no.acntech.hexapetclinic.domain.model.PetType;
 import no.acntech.hexapetclinic.domain.model.TelephoneNumber;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter.EmailConverter;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter.TelephoneNumberConverter;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.framework.JpaEntity;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.framework.MutableJpaEntity;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a JPA entity for storing owner information in the database.
@@ -46,9 +50,14 @@ import org.apache.commons.lang3.builder.ToStringStyle;
  *
  * Uses JPA annotations for ORM capabilities and incorporates custom converters
  * for specific fields, such as telephone and email.
+ *
+ * Owners are read far more often than they change, so they are kept in the second-level cache. The collection of pets is not cached
+ * and is always loaded from the database.
  */
 @Entity
 @Table(name = "owners")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@SequenceGenerator(name = JpaEntity.ID_GENERATOR, sequenceName = "owners_seq", allocationSize = JpaEntity.ID_ALLOCATION_SIZE)
 @Getter
 @Setter
 @Builder
@@ -123,6 +132,7 @@ public class OwnerJpaEntity extends MutableJpaEntity implements Owner {
 
   @Override
   public Pet registerPet(
+      @NonNull PetIdentifier identifier,
       @NonNull String name,
       @NonNull PetType type,
       @NonNull String breed,
@@ -131,17 +141,9 @@ public class OwnerJpaEntity extends MutableJpaEntity implements Owner {
       @NonNull String description
   ) {
 
-    // Generate the PetIdentifier
-    var petId = PetIdentifier.generate(
-        birthDate.getYear(),
-        birthDate.getMonthValue(),
-        birthDate.getDayOfMonth(),
-        gender
-    );
-
     // Use Lombok builder for PetJpaEntity creation
     var pet = PetJpaEntity.builder()
-        .identifier(petId)
+        .identifier(identifier)
         .owner(this)
         .name(name)
         .type(type)
@@ -10,6 +10,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 import lombok.AllArgsConstructor;
@@ -18,20 +19,26 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.Setter;
+import no.acntech.hexapetclinic.domain.model.DescriptionStatus;
 import no.acntech.hexapetclinic.domain.model.Gender;
 import no.acntech.hexapetclinic.domain.model.Pet;
 import no.acntech.hexapetclinic.domain.model.PetIdentifier;
 import no.acntech.hexapetclinic.domain.model.PetType;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter.GenderConverter;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter.PetIdConverter;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.framework.JpaEntity;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.framework.MutableJpaEntity;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * JPA Entity representing a Pet in the database.
  * This entity stores information about a pet, including its identifier, name, type,
- * breed, gender, birth date, description, and associated owner.
+ * breed, gender, birth date, description (with its enhancement status), and associated owner.
  *
  * The entity supports mutability through methods that allow modification of
  * specific attributes. Any change to these attributes will update the current instance.
@@ -43,9 +50,14 @@ import org.apache.commons.lang3.builder.ToStringStyle;
  * - Implements the {@link Pet} interface which defines the domain-level contract for a pet.
  * - Extends {@link MutableJpaEntity} which includes auditing properties.
  * - Includes custom converters for certain attributes such as identifier and gender.
+ * - Is kept in the second-level cache, and its immutable identifier is a cached natural id, so pets can be looked up by identifier
+ *   without a query once cached.
  */
 @Entity
 @Table(name = "pets")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@SequenceGenerator(name = JpaEntity.ID_GENERATOR, sequenceName = "pets_seq", allocationSize = JpaEntity.ID_ALLOCATION_SIZE)
 @Getter
 @Setter
 @Builder
@@ -53,6 +65,7 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 @AllArgsConstructor
 public class PetJpaEntity extends MutableJpaEntity implements Pet {
 
+  @NaturalId
   @Column(nullable = false, length = PetIdentifier.FIXED_LENGTH)
   @Convert(converter = PetIdConverter.class)
   private PetIdentifier identifier;
@@ -77,6 +90,11 @@ public class PetJpaEntity extends MutableJpaEntity implements Pet {
   @Column(nullable = false, length = 4096)
   private String description;
 
+  @Builder.Default
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private DescriptionStatus descriptionStatus = DescriptionStatus.ORIGINAL;
+
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
   @JoinColumn(name = "owner_id", nullable = false)
   private OwnerJpaEntity owner;
@@ -99,6 +117,12 @@ public class PetJpaEntity extends MutableJpaEntity implements Pet {
     return this;
   }
 
+  @Override
+  public Pet changeDescriptionStatus(@NonNull DescriptionStatus descriptionStatus) {
+    this.descriptionStatus = descriptionStatus;
+    return this;
+  }
+
   public String toString() {
     return new ToStringBuilder(this, ToStringStyle.MULTI_LINE_STYLE)
         .appendSuper(super.toString())
@@ -109,6 +133,7 @@ public class PetJpaEntity extends MutableJpaEntity implements Pet {
         .append("gender", gender)
         .append("birthDate", this.birthDate)
         .append("description", this.description)
+        .append("descriptionStatus", this.descriptionStatus)
         .toString();
   }
 
@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import lombok.AllArgsConstructor;
@@ -17,6 +18,7 @@ import lombok.NonNull;
 import lombok.Setter;
 import no.acntech.hexapetclinic.domain.model.Pet;
 import no.acntech.hexapetclinic.domain.model.Visit;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.framework.JpaEntity;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.framework.MutableJpaEntity;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -46,6 +48,7 @@ import org.apache.commons.lang3.builder.ToStringStyle;
  */
 @Entity
 @Table(name = "visits")
+@SequenceGenerator(name = JpaEntity.ID_GENERATOR, sequenceName = "visits_seq", allocationSize = JpaEntity.ID_ALLOCATION_SIZE)
 @Getter
 @Setter
 @Builder
@@ -14,7 +14,7 @@ import no.acntech.hexapetclinic.domain.model.framework.PrimitiveValueObject;
  * annotation.
  *
  * {@link EmailAddress} represents an email address as a value object with validations and constraints,
- * ensuring that only valid email addresses conforming to defined rules can be persisted or retrieved.
+ * ensuring that only valid email addresses conforming to defined rules can be persisted.
  *
  * This class extends {@link PrimitiveValueObjectConverter}, which provides a reusable mechanism for
  * converting any {@link PrimitiveValueObject} to and from its primitive value.
@@ -22,4 +22,7 @@ import no.acntech.hexapetclinic.domain.model.framework.PrimitiveValueObject;
 @Converter(autoApply = true)
 public class EmailConverter extends PrimitiveValueObjectConverter<String, EmailAddress> {
 
+  public EmailConverter() {
+    super(EmailAddress::ofTrusted);
+  }
 }
\ No newline at end of file
@@ -14,7 +14,7 @@ import no.acntech.hexapetclinic.domain.model.framework.PrimitiveValueObject;
  *
  * The conversion process includes:
  * - Storing the string-based primitive representation of the PetIdentifier in the database.
- * - Converting the stored string back into a PetIdentifier upon retrieval.
+ * - Converting the stored string back into a PetIdentifier upon retrieval, with its trusted factory method.
  *
  * This ensures that the domain-specific constraints and validations imposed by the PetIdentifier class are respected,
  * while leveraging its ability to encapsulate the identifier logic.
@@ -22,4 +22,7 @@ import no.acntech.hexapetclinic.domain.model.framework.PrimitiveValueObject;
 @Converter(autoApply = true)
 public class PetIdConverter extends PrimitiveValueObjectConverter<String, PetIdentifier> {
 
+  public PetIdConverter() {
+    super(PetIdentifier::ofTrusted);
+  }
 }
\ No newline at end of file
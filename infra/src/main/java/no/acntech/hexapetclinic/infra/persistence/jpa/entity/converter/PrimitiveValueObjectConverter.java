@@ -2,7 +2,10 @@ package no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter;
 
 import com.google.common.reflect.TypeToken;
 import jakarta.persistence.AttributeConverter;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import no.acntech.hexapetclinic.domain.model.framework.PrimitiveValueObject;
 
@@ -28,12 +31,16 @@ import no.acntech.hexapetclinic.domain.model.framework.PrimitiveValueObject;
  * 1. During persistence, the {@link #convertToDatabaseColumn(Object)} method extracts the primitive
  *    value from the {@link PrimitiveValueObject} using its `getPrimitive()` method.
  * 2. During retrieval, the {@link #convertToEntityAttribute(Object)} method reconstructs the
- *    {@link PrimitiveValueObject} by invoking its constructor with the primitive value.
+ *    {@link PrimitiveValueObject} with a factory resolved when the converter is created. By default
+ *    this is a method handle to the constructor taking the primitive value, which validates it
+ *    again. Subclasses may pass a factory of their own instead, typically a trusted factory method
+ *    such as {@code ofTrusted}: values read back from the database were validated when written, so
+ *    they are not validated again.
  *
  * Error Handling:
  * If the {@link PrimitiveValueObject} class does not provide a public constructor compatible with
- * the primitive type, or if instantiation fails for other reasons, an {@link IllegalArgumentException}
- * is thrown with a detailed error message.
+ * the primitive type, the converter cannot be created. If instantiation fails, an
+ * {@link IllegalArgumentException} is thrown with a detailed error message.
  *
  * Type Parameters:
  * - P: The primitive type (e.g., String, Integer) used to persist the {@link PrimitiveValueObject}.
@@ -44,8 +51,8 @@ import no.acntech.hexapetclinic.domain.model.framework.PrimitiveValueObject;
  *   other value objects encapsulating primitive values.
  *
  * Requirements:
- * - The {@link PrimitiveValueObject} class must have a single-argument constructor accepting the
- *   primitive value.
+ * - The {@link PrimitiveValueObject} class must have a public single-argument constructor accepting
+ *   the primitive value, unless the subclass passes a factory of its own.
  */
 @Slf4j
 public abstract class PrimitiveValueObjectConverter<P extends Comparable<P>, T extends PrimitiveValueObject<P>>
@@ -53,14 +60,28 @@ public abstract class PrimitiveValueObjectConverter<P extends Comparable<P>, T e
 
   private final Class<T> valueObjectClass;
   private final Class<P> primitiveClass;
+  private final Function<P, T> factory;
 
-  @SuppressWarnings("unchecked")
+  /**
+   * Creates a converter constructing value objects through their constructor taking the primitive value.
+   */
   public PrimitiveValueObjectConverter() {
+    this(null);
+  }
+
+  /**
+   * Creates a converter constructing value objects with the given factory.
+   *
+   * @param factory creates a value object from a primitive value read from the database
+   */
+  @SuppressWarnings("unchecked")
+  protected PrimitiveValueObjectConverter(Function<P, T> factory) {
     TypeToken<T> valueObjectToken = new TypeToken<T>(getClass()) {
     };
     TypeToken<P> primitiveToken = (TypeToken<P>) valueObjectToken.resolveType(PrimitiveValueObject.class.getTypeParameters()[0]);
     this.valueObjectClass = (Class<T>) valueObjectToken.getRawType();
     this.primitiveClass = (Class<P>) primitiveToken.getRawType();
+    this.factory = factory != null ? factory : constructorFactory();
   }
 
   @Override
@@ -75,20 +96,48 @@ public abstract class PrimitiveValueObjectConverter<P extends Comparable<P>, T e
     }
 
     try {
-      return valueObjectClass.getConstructor(primitiveClass).newInstance(dbData);
-    } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
-      String errorMessage = String.format(
-          "Error converting database value to PrimitiveValueObject. " + "Details: dbData='%s', primitiveClass='%s', valueObjectClass='%s'. "
-              + "Ensure that the value object class '%s' has a constructor accepting a '%s' parameter.",
-          dbData,
-          primitiveClass.getName(),
-          valueObjectClass.getName(),
-          valueObjectClass.getName(),
-          primitiveClass.getName()
-      );
+      return factory.apply(dbData);
+    } catch (RuntimeException e) {
+      String errorMessage = errorMessage(dbData);
       log.error(errorMessage, e);
       throw new IllegalArgumentException(errorMessage, e);
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private Function<P, T> constructorFactory() {
+    MethodHandle constructor;
+    try {
+      // Looked up once, instead of for every column value read
+      constructor = MethodHandles.publicLookup()
+          .findConstructor(valueObjectClass, MethodType.methodType(void.class, primitiveClass))
+          .asType(MethodType.methodType(Object.class, Object.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new IllegalArgumentException(errorMessage(null), e);
+    }
+    return dbData -> {
+      try {
+        // The exact call site type must be (Object)Object, so the result is only cast afterwards
+        Object valueObject = constructor.invokeExact((Object) dbData);
+        return (T) valueObject;
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    };
+  }
+
+  private String errorMessage(P dbData) {
+    return String.format(
+        "Error converting database value to PrimitiveValueObject. " + "Details: dbData='%s', primitiveClass='%s', valueObjectClass='%s'. "
+            + "Ensure that the value object class '%s' has a constructor accepting a '%s' parameter.",
+        dbData,
+        primitiveClass.getName(),
+        valueObjectClass.getName(),
+        valueObjectClass.getName(),
+        primitiveClass.getName()
+    );
+  }
+
 }
@@ -22,11 +22,15 @@ import no.acntech.hexapetclinic.domain.model.framework.PrimitiveValueObject;
  * integration with JPA for custom value objects.
  *
  * Benefits of using this converter include:
- * - Enforcing domain rules and validation defined within the {@link TelephoneNumber} class.
+ * - Enforcing domain rules and validation defined within the {@link TelephoneNumber} class when writing.
  * - Ensuring a cleaner domain model by abstracting the conversion logic away from the entities.
  * - Providing automatic application of the conversion logic to all entities containing {@link TelephoneNumber} fields.
  */
 @Converter(autoApply = true)
 public class TelephoneNumberConverter extends PrimitiveValueObjectConverter<String, TelephoneNumber> {
 
+  public TelephoneNumberConverter() {
+    super(TelephoneNumber::ofTrusted);
+  }
+
 }
\ No newline at end of file
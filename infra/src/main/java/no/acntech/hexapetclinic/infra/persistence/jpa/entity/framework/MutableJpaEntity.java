@@ -2,22 +2,32 @@ package no.acntech.hexapetclinic.infra.persistence.jpa.entity.framework;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import java.time.Instant;
 import lombok.Getter;
+import no.acntech.hexapetclinic.domain.model.framework.Versioned;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.springframework.data.annotation.LastModifiedDate;
 
 /**
- * Superclass for mutable entities - extends JpaEntity with an 'updatedAt' attribute.
+ * Superclass for mutable entities - extends JpaEntity with an 'updatedAt' attribute and a 'version' attribute.
+ * <p>
+ * The version is used for optimistic locking: Hibernate increments it on every update, and an update (or merge) of an entity whose
+ * version no longer matches the row fails with an optimistic locking exception, instead of overwriting a concurrent change. Concurrent
+ * edits are thereby detected without holding row locks in the database.
  */
 @MappedSuperclass
 @Getter
-public abstract class MutableJpaEntity extends JpaEntity {
+public abstract class MutableJpaEntity extends JpaEntity implements Versioned {
 
   @Column(columnDefinition = TIMESTAMP_COLUMN_DEFINITION)
   @LastModifiedDate
-  private Instant updatedAt = Instant.now();
+  private Instant updatedAt;
+
+  @Version
+  @Column(nullable = false)
+  private Long version;
 
   @Override
   public String toString() {
@@ -25,6 +35,7 @@ public abstract class MutableJpaEntity extends JpaEntity {
         .append("id", getId())
         .append("createdAt", getCreatedAt())
         .append("updatedAt", updatedAt)
+        .append("version", version)
         .toString();
   }
 }
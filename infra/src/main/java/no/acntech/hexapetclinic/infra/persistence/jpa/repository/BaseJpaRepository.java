@@ -0,0 +1,25 @@
+package no.acntech.hexapetclinic.infra.persistence.jpa.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Base repository interface for all Spring Data JPA repositories in this application.
+ *
+ * Extends {@link JpaRepository} with keyset (seek-on-id) query methods, used for paging through large tables without the cost of
+ * offset-based paging. Both methods rely on the primary key index and return the entities in ascending identifier order.
+ *
+ * @param <E>  the type of the JPA entity
+ * @param <ID> the type of the identifier of the entity
+ */
+@NoRepositoryBean
+@SuppressWarnings("PMD.GenericsNaming")
+public interface BaseJpaRepository<E, ID> extends JpaRepository<E, ID> {
+
+  List<E> findAllByOrderByIdAsc(Limit limit);
+
+  List<E> findByIdGreaterThanOrderByIdAsc(ID id, Limit limit);
+
+}
@@ -2,19 +2,18 @@ package no.acntech.hexapetclinic.infra.persistence.jpa.repository;
 
 import java.util.List;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.OwnerJpaEntity;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repository interface for performing CRUD operations and custom queries
  * on the {@code OwnerJpaEntity} entity.
  *
- * This interface extends {@code JpaRepository}, thus providing JPA related
+ * This interface extends {@code BaseJpaRepository}, thus providing JPA related
  * methods out of the box. It acts as a Data Access Object (DAO) for the
  * {@code OwnerJpaEntity} class.
  */
 @Repository
-public interface OwnerJpaRepository extends JpaRepository<OwnerJpaEntity, Long> {
+public interface OwnerJpaRepository extends BaseJpaRepository<OwnerJpaEntity, Long> {
 
   List<OwnerJpaEntity> findByLastName(String lastName);
 
@@ -1,27 +1,37 @@
 package no.acntech.hexapetclinic.infra.persistence.jpa.repository;
 
 import java.util.List;
+import java.util.Optional;
 import lombok.NonNull;
-import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.model.DescriptionStatus;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.PetJpaEntity;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repository interface for performing CRUD operations on {@link PetJpaEntity}.
  *
- * This interface extends {@link JpaRepository} to provide standard JPA data access methods,
- * as well as custom query methods for retrieving Pet entities by specific attributes.
+ * This interface extends {@link BaseJpaRepository} to provide standard JPA data access methods,
+ * as well as custom query methods for retrieving Pet entities by specific attributes. Pets are looked up by their identifier through
+ * the natural-id API of Hibernate instead, see {@code PetRepositoryAdapter}.
  *
  * Custom Query Methods:
- * - {@code findByIdentifier(PetIdentifier identifier)}: Retrieves a Pet entity based on its unique identifier.
  * - {@code findByName(String name)}: Retrieves a list of Pet entities with the specified name.
+ * - {@code findMaxIdentifierBetween(String from, String to)}: Retrieves the highest identifier within the given range, using the
+ *   unique index on the identifier column.
+ * - {@code findIdsByDescriptionStatus(DescriptionStatus descriptionStatus)}: Retrieves the ids of the Pet entities whose description
+ *   has the specified status.
  */
 @Repository
-public interface PetJpaRepository extends JpaRepository<PetJpaEntity, Long> {
-
-  PetJpaEntity findByIdentifier(@NonNull PetIdentifier identifier);
+public interface PetJpaRepository extends BaseJpaRepository<PetJpaEntity, Long> {
 
   List<PetJpaEntity> findByName(@NonNull String name);
 
+  @Query(value = "select max(identifier) from pets where identifier between :from and :to", nativeQuery = true)
+  Optional<String> findMaxIdentifierBetween(@NonNull @Param("from") String from, @NonNull @Param("to") String to);
+
+  @Query("select p.id from PetJpaEntity p where p.descriptionStatus = :descriptionStatus order by p.id")
+  List<Long> findIdsByDescriptionStatus(@NonNull @Param("descriptionStatus") DescriptionStatus descriptionStatus);
+
 }
\ No newline at end of file
@@ -1,9 +1,20 @@
 package no.acntech.hexapetclinic.infra.persistence.jpa.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import no.acntech.hexapetclinic.domain.model.PetIdentifier;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.VisitJpaEntity;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,17 +22,94 @@ import org.springframework.stereotype.Repository;
  * This repository provides data access to Visit entities and supports operations
  * such as saving, deleting, and querying the visits stored in the database.
  *
- * Extends the {@link JpaRepository} interface to inherit basic CRUD operations.
+ * Extends the {@link BaseJpaRepository} interface to inherit basic CRUD and keyset paging operations.
  *
  * Features:
  * - Defines a custom query method for finding visits based on the associated pet identifier.
+ * - Defines keyset-paginated range queries for the visits of a pet in time order, served by the (pet_id, time) index.
+ * - Defines a read-only, scrolled query for streaming all visits without materializing the result list.
+ * - Fetches the associated pet together with the visits on all lookup and list paths, using the {@value #PET_GRAPH} entity graph,
+ *   as a visit is never mapped without its pet identifier. This avoids one extra SELECT per visit for the lazy pet association.
  *
  * Methods:
- * - {@link #findByPetId(PetIdentifier)}: Retrieves a list of visits for a specific pet.
+ * - {@link #findByPetIdentifier(PetIdentifier)}: Retrieves a list of visits for a specific pet.
+ * - {@link #findByPetIdentifierAndTimeRange}: Retrieves the first page of the visits of a pet within a time range.
+ * - {@link #findByPetIdentifierAndTimeRangeAfter}: Retrieves the page following a given visit.
+ * - {@link #existsByIdAndPetIdentifier}: Checks whether a visit is a visit of a specific pet.
+ * - {@link #streamAllWithPet()}: Streams all visits, with their pet, in ascending identifier order.
  */
 @Repository
-public interface VisitJpaRepository extends JpaRepository<VisitJpaEntity, Long> {
+public interface VisitJpaRepository extends BaseJpaRepository<VisitJpaEntity, Long> {
+
+  /**
+   * Number of rows the JDBC driver fetches per round trip when streaming visits.
+   */
+  String STREAM_FETCH_SIZE = "1000";
+
+  /**
+   * Attribute path of the entity graph fetching the pet of a visit.
+   */
+  String PET_GRAPH = "pet";
+
+  @Override
+  @EntityGraph(attributePaths = PET_GRAPH)
+  Optional<VisitJpaEntity> findById(Long id);
+
+  @Override
+  @EntityGraph(attributePaths = PET_GRAPH)
+  List<VisitJpaEntity> findAll();
+
+  @Override
+  @EntityGraph(attributePaths = PET_GRAPH)
+  List<VisitJpaEntity> findAllByOrderByIdAsc(Limit limit);
+
+  @Override
+  @EntityGraph(attributePaths = PET_GRAPH)
+  List<VisitJpaEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  @EntityGraph(attributePaths = PET_GRAPH)
+  List<VisitJpaEntity> findByPetIdentifier(PetIdentifier petIdentifier);
+
+  /**
+   * Retrieves the visits of a pet within a time range, in ascending time and identifier order. The pet is joined by its identifier
+   * and fetched in the same query, so no separate lookup of the pet takes place.
+   */
+  @Query("""
+      select v from VisitJpaEntity v join fetch v.pet p
+      where p.identifier = :petIdentifier and v.time >= :from and v.time < :to
+      order by v.time, v.id""")
+  List<VisitJpaEntity> findByPetIdentifierAndTimeRange(
+      @Param("petIdentifier") PetIdentifier petIdentifier, @Param("from") Instant from, @Param("to") Instant to, Limit limit);
+
+  /**
+   * Retrieves the visits of a pet within a time range that follow the given visit in ascending time and identifier order. The time
+   * of the given visit is looked up by its primary key, and the range scan starts at that time.
+   */
+  @Query("""
+      select v from VisitJpaEntity v join fetch v.pet p
+      where p.identifier = :petIdentifier and v.time >= :from and v.time < :to
+        and v.time >= (select a.time from VisitJpaEntity a where a.id = :after)
+        and (v.time > (select a.time from VisitJpaEntity a where a.id = :after) or v.id > :after)
+      order by v.time, v.id""")
+  List<VisitJpaEntity> findByPetIdentifierAndTimeRangeAfter(
+      @Param("petIdentifier") PetIdentifier petIdentifier, @Param("from") Instant from, @Param("to") Instant to,
+      @Param("after") Long after, Limit limit);
+
+  boolean existsByIdAndPetIdentifier(Long id, PetIdentifier petIdentifier);
 
-  List<VisitJpaEntity> findByPetId(PetIdentifier petIdentifier);
+  /**
+   * Streams all visits in ascending identifier order, fetching the associated pet in the same query. The rows are read from a
+   * scrolled JDBC result set with a fixed fetch size and loaded as read-only entities, so no dirty-checking snapshots are kept.
+   * <p>
+   * The returned stream must be consumed within a transaction and closed after use.
+   *
+   * @return a Stream of all visits
+   */
+  @QueryHints({
+      @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+      @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  @Query("select v from VisitJpaEntity v join fetch v.pet order by v.id")
+  Stream<VisitJpaEntity> streamAllWithPet();
 
 }
\ No newline at end of file
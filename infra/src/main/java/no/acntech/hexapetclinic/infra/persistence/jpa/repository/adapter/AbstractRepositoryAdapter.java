@@ -1,13 +1,22 @@
 package no.acntech.hexapetclinic.infra.persistence.jpa.repository.adapter;
 
+import static org.apache.commons.lang3.Validate.isTrue;
+
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import lombok.NonNull;
+import no.acntech.hexapetclinic.app.event.EntityChangedEvent;
 import no.acntech.hexapetclinic.domain.model.framework.Entity;
 import no.acntech.hexapetclinic.domain.repository.BaseRepository;
-import org.springframework.data.jpa.repository.JpaRepository;
+import no.acntech.hexapetclinic.infra.persistence.jpa.repository.BaseJpaRepository;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Limit;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -18,12 +27,15 @@ import org.springframework.transaction.annotation.Transactional;
  * This abstract class enforces common CRUD operations shared across different repositories and provides
  * base functionality that can be extended and customized for specific entity repositories.
  *
+ * How entities are written is determined by the {@link SaveMode} each concrete adapter is constructed with. Every saved or deleted
+ * entity is announced with an {@link EntityChangedEvent}, published within the writing transaction.
+ *
  * @param <T>  the type of the domain model entity
  * @param <E>  the type of the JPA entity that corresponds to the domain model
  * @param <ID> the type of the identifier of the entity
  * @param <R>  the type of the Spring Data JPA repository used for persistence
  */
-public abstract class AbstractRepositoryAdapter<T extends Entity<ID>, E extends T, ID, R extends JpaRepository<E, ID>>
+public abstract class AbstractRepositoryAdapter<T extends Entity<ID>, E extends T, ID, R extends BaseJpaRepository<E, ID>>
     implements BaseRepository<T, ID> {
 
   /**
@@ -31,16 +43,43 @@ public abstract class AbstractRepositoryAdapter<T extends Entity<ID>, E extends
    */
   protected final R jpaRepository;
 
+  /**
+   * Write strategy used by {@link #save(Entity)}.
+   */
+  protected final SaveMode saveMode;
+
   @PersistenceContext
   protected EntityManager entityManager;
 
+  @Autowired
+  protected ApplicationEventPublisher eventPublisher;
+
   /**
-   * Protected constructor for AbstractRepositoryAdapter which initializes the repository with a given Spring Data JPA repository.
+   * The JPA entity type, announced in the {@link EntityChangedEvent}s.
+   */
+  private final Class<?> entityType;
+
+  /**
+   * Protected constructor for AbstractRepositoryAdapter which initializes the repository with a given Spring Data JPA repository,
+   * using the {@link SaveMode#GENERATED_KEYS} write strategy.
    *
    * @param jpaRepository the Spring Data JPA repository to be used by this AbstractRepositoryAdapter; must not be null
    */
   protected AbstractRepositoryAdapter(@NonNull R jpaRepository) {
+    this(jpaRepository, SaveMode.GENERATED_KEYS);
+  }
+
+  /**
+   * Protected constructor for AbstractRepositoryAdapter which initializes the repository with a given Spring Data JPA repository and
+   * write strategy.
+   *
+   * @param jpaRepository the Spring Data JPA repository to be used by this AbstractRepositoryAdapter; must not be null
+   * @param saveMode      the write strategy used when saving entities; must not be null
+   */
+  protected AbstractRepositoryAdapter(@NonNull R jpaRepository, @NonNull SaveMode saveMode) {
     this.jpaRepository = jpaRepository;
+    this.saveMode = saveMode;
+    this.entityType = ResolvableType.forClass(AbstractRepositoryAdapter.class, getClass()).getGeneric(1).resolve(Object.class);
   }
 
   /**
@@ -76,20 +115,62 @@ public abstract class AbstractRepositoryAdapter<T extends Entity<ID>, E extends
     return (List<T>) jpaRepository.findAll();
   }
 
+  /**
+   * Retrieves a page of entities of type T, seeking past the given identifier using the primary key index.
+   *
+   * @param after the identifier of the last entity of the previous page, or null to fetch the first page
+   * @param limit the maximum number of entities to return; must be positive
+   * @return a List containing at most {@code limit} entities of type T, ordered by identifier.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<T> findAllAfter(ID after, int limit) {
+    isTrue(limit > 0, "Limit must be positive, but was %d", limit);
+    return (List<T>) (after == null
+        ? jpaRepository.findAllByOrderByIdAsc(Limit.of(limit))
+        : jpaRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit)));
+  }
+
   /**
    * Saves the given entity and returns the saved instance. Delegates the save operation to the underlying Spring Data JPA repository.
+   * <p>
+   * With {@link SaveMode#GENERATED_KEYS} the returned entity carries its generated identifier and audit timestamps without being
+   * re-read. With {@link SaveMode#REFRESH} the persistence context is flushed and the entity re-read from the database.
    *
    * @param entity the entity to be saved; must not be null
    * @return the saved entity
    */
   @Override
   @Transactional
-  @SuppressWarnings("unchecked")
   public T save(@NonNull T entity) {
-    E result = jpaRepository.save((E) entity); // Cast to E only where necessary
-    jpaRepository.flush(); // Ensure immediate database synchronization
-    entityManager.refresh(result); // Refresh the entity to ensure it is in a consistent state
-    refreshChildEntitiesOnSave(result);
+    E result = write(entity);
+    eventPublisher.publishEvent(new EntityChangedEvent(entityType, result.getId()));
+    return result;
+  }
+
+  /**
+   * Saves all the given entities in a single transaction and returns the saved instances. Every JDBC batch size
+   * ({@code hibernate.jdbc.batch_size}) entities the persistence context is flushed and cleared, so the inserts are sent in full
+   * batches and the persistence context does not grow with the number of entities. The returned entities are detached from the
+   * persistence context, except for those saved after the last flush. Every saved entity is announced with its own
+   * {@link EntityChangedEvent}.
+   *
+   * @param entities the entities to be saved; must not be null
+   * @return the saved entities, in the same order
+   */
+  @Override
+  @Transactional
+  public List<T> saveAll(@NonNull List<T> entities) {
+    int flushInterval = jdbcBatchSize();
+    List<T> result = new ArrayList<>(entities.size());
+    for (T entity : entities) {
+      result.add(write(entity));
+      if (flushInterval > 0 && result.size() % flushInterval == 0) {
+        entityManager.flush();
+        entityManager.clear();
+      }
+    }
+    result.forEach(saved -> eventPublisher.publishEvent(new EntityChangedEvent(entityType, saved.getId())));
     return result;
   }
 
@@ -98,6 +179,7 @@ public abstract class AbstractRepositoryAdapter<T extends Entity<ID>, E extends
   public void deleteById(@NonNull ID id) {
     jpaRepository.deleteById(id);
     jpaRepository.flush();
+    eventPublisher.publishEvent(new EntityChangedEvent(entityType, id));
   }
 
   @Override
@@ -105,9 +187,27 @@ public abstract class AbstractRepositoryAdapter<T extends Entity<ID>, E extends
     entityManager.refresh(entity);
   }
 
+  @SuppressWarnings("unchecked")
+  private E write(T entity) {
+    E result = jpaRepository.save((E) entity); // Cast to E only where necessary
+    if (saveMode == SaveMode.REFRESH) {
+      jpaRepository.flush(); // Ensure immediate database synchronization
+      entityManager.refresh(result); // Refresh the entity to pick up database-computed state
+      refreshChildEntitiesOnSave(result);
+    }
+    return result;
+  }
+
+  private int jdbcBatchSize() {
+    return entityManager.getEntityManagerFactory()
+        .unwrap(SessionFactoryImplementor.class)
+        .getSessionFactoryOptions()
+        .getJdbcBatchSize();
+  }
+
   /**
-   * Refreshes the child entities of the given entity after saving it. This method should be overridden in subclasses to provide custom
-   * behavior. The default implementation is a no-op.
+   * Refreshes the child entities of the given entity after saving it in {@link SaveMode#REFRESH} mode. This method should be overridden
+   * in subclasses to provide custom behavior. The default implementation is a no-op.
    *
    * @param entity the entity whose child entities should be refreshed
    */
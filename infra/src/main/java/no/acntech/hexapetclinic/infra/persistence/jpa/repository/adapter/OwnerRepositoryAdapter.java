@@ -38,7 +38,7 @@ public class OwnerRepositoryAdapter
    * @param ownerJpaRepository the JPA repository to be used by this OwnerRepositoryAdapter; must not be null
    */
   public OwnerRepositoryAdapter(OwnerJpaRepository ownerJpaRepository) {
-    super(ownerJpaRepository);
+    super(ownerJpaRepository, SaveMode.GENERATED_KEYS);
   }
 
   @Override
@@ -1,15 +1,21 @@
 package no.acntech.hexapetclinic.infra.persistence.jpa.repository.adapter;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.model.DescriptionStatus;
+import no.acntech.hexapetclinic.domain.model.Gender;
 import no.acntech.hexapetclinic.domain.model.Pet;
 import no.acntech.hexapetclinic.domain.model.PetIdentifier;
 import no.acntech.hexapetclinic.domain.repository.EntityNotFoundException;
 import no.acntech.hexapetclinic.domain.repository.PetRepository;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.PetJpaEntity;
 import no.acntech.hexapetclinic.infra.persistence.jpa.repository.PetJpaRepository;
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Adapter implementation for the {@link PetRepository} interface. This class bridges the domain model (Pet)
@@ -30,19 +36,28 @@ public class PetRepositoryAdapter
     extends AbstractRepositoryAdapter<Pet, PetJpaEntity, Long, PetJpaRepository>
     implements PetRepository {
 
+  // Lowest and highest unique number and control digit following the prefix of an allocatable identifier. Stored identifiers may
+  // have unique numbers above PetIdentifier.MAX_UNIQUE, which are never allocated and so are left out of the range.
+  private static final String IDENTIFIER_SUFFIX_MIN = "0000000";
+  private static final String IDENTIFIER_SUFFIX_MAX = String.format("%06d9", PetIdentifier.MAX_UNIQUE);
+
   /**
    * Constructs a PetRepositoryAdapter with the given Spring Data JPA repository.
    *
    * @param petJpaRepository the JPA repository to be used by this PetRepositoryAdapter; must not be null
    */
   public PetRepositoryAdapter(PetJpaRepository petJpaRepository) {
-    super(petJpaRepository);
+    super(petJpaRepository, SaveMode.GENERATED_KEYS);
   }
 
   @Override
   @NonNull
+  @Transactional(readOnly = true)
   public Pet findByIdentifier(@NonNull PetIdentifier petIdentifier) {
-    Pet pet = jpaRepository.findByIdentifier(petIdentifier);
+    // Loaded by natural id rather than by query, so a cached pet is found without touching the database
+    Pet pet = entityManager.unwrap(Session.class)
+        .bySimpleNaturalId(PetJpaEntity.class)
+        .load(petIdentifier);
     if (pet == null) {
       throw new EntityNotFoundException(String.format("Pet with identifier '%s' not found", petIdentifier));
     }
@@ -58,4 +73,20 @@ public class PetRepositoryAdapter
         .toList(); // Collect as a List
   }
 
-}
\ No newline at end of file
+  @Override
+  @NonNull
+  public Optional<PetIdentifier> findHighestIdentifier(@NonNull LocalDate birthDate, @NonNull Gender gender) {
+    // The unique number follows the fixed-width prefix, so the highest identifier has the highest unique number. A range rather than
+    // a LIKE on the prefix, so the unique index on the identifier is used regardless of how the database plans parameterized patterns.
+    String prefix = PetIdentifier.prefixOf(birthDate, gender);
+    return jpaRepository.findMaxIdentifierBetween(prefix + IDENTIFIER_SUFFIX_MIN, prefix + IDENTIFIER_SUFFIX_MAX)
+        .map(PetIdentifier::of);
+  }
+
+  @Override
+  @NonNull
+  public List<Long> findIdsByDescriptionStatus(@NonNull DescriptionStatus descriptionStatus) {
+    return jpaRepository.findIdsByDescriptionStatus(descriptionStatus);
+  }
+
+}
@@ -0,0 +1,20 @@
+package no.acntech.hexapetclinic.infra.persistence.jpa.repository.adapter;
+
+/**
+ * Write strategies for {@link AbstractRepositoryAdapter#save}, selectable per repository adapter.
+ *
+ * Modes:
+ * - {@link #GENERATED_KEYS}: Persists the entity and relies on the generated identifier and JPA auditing for the remaining
+ *   database-managed attributes ({@code createdAt}/{@code updatedAt}). No flush or re-read takes place, so the statements are left to
+ *   the persistence context to execute at commit, where they can be ordered and batched.
+ * - {@link #REFRESH}: Persists the entity, flushes the persistence context and re-reads the entity (and any child entities) from the
+ *   database. Costs a synchronous round trip and an extra SELECT per save, and is only needed for entities with column values that
+ *   are computed by the database itself, such as triggers or column defaults not mirrored in the entity.
+ */
+public enum SaveMode {
+
+  GENERATED_KEYS,
+
+  REFRESH
+
+}
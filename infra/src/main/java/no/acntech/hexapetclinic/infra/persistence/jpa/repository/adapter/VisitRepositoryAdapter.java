@@ -1,7 +1,13 @@
 package no.acntech.hexapetclinic.infra.persistence.jpa.repository.adapter;
 
+import static org.apache.commons.lang3.Validate.isTrue;
+
+import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import no.acntech.hexapetclinic.domain.model.PetIdentifier;
@@ -9,6 +15,7 @@ import no.acntech.hexapetclinic.domain.model.Visit;
 import no.acntech.hexapetclinic.domain.repository.VisitRepository;
 import no.acntech.hexapetclinic.infra.persistence.jpa.entity.VisitJpaEntity;
 import no.acntech.hexapetclinic.infra.persistence.jpa.repository.VisitJpaRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -17,7 +24,8 @@ import org.springframework.stereotype.Repository;
  *
  * The VisitRepositoryAdapter is responsible for:
  * - Delegating CRUD operations to the underlying VisitJpaRepository.
- * - Implementing additional behavior specific to visits, such as retrieving visits by pet ID.
+ * - Implementing additional behavior specific to visits, such as retrieving visits by pet ID, or by pet ID and time range.
+ * - Streaming all visits while periodically clearing the persistence context, keeping memory use constant.
  *
  * This adapter extends AbstractRepositoryAdapter to leverage shared behavior and
  * implements VisitRepository to provide domain-specific functionality.
@@ -28,20 +36,62 @@ public class VisitRepositoryAdapter
     extends AbstractRepositoryAdapter<Visit, VisitJpaEntity, Long, VisitJpaRepository>
     implements VisitRepository {
 
+  /**
+   * Number of streamed visits after which the persistence context is cleared. Matches the JDBC fetch size of the streaming query.
+   */
+  private static final int STREAM_CLEAR_INTERVAL = Integer.parseInt(VisitJpaRepository.STREAM_FETCH_SIZE);
+
   /**
    * Constructs a VisitRepositoryAdapter with the given Spring Data JPA repository.
    *
    * @param visitJpaRepository the JPA repository used by this adapter
    */
   public VisitRepositoryAdapter(VisitJpaRepository visitJpaRepository) {
-    super(visitJpaRepository);
+    super(visitJpaRepository, SaveMode.GENERATED_KEYS);
   }
 
   @Override
   public List<Visit> findByPetIdentifier(@NonNull PetIdentifier petIdentifier) {
-    return jpaRepository.findByPetId(petIdentifier)
+    return jpaRepository.findByPetIdentifier(petIdentifier)
         .stream()
         .map(entity -> (Visit) entity) // Cast each VisitEntity to Visit
         .collect(Collectors.toList());
   }
-}
\ No newline at end of file
+
+  /**
+   * Retrieves a page of the visits of a pet within a time range, in ascending time order, with a single query joining the pet by its
+   * identifier. The pet is fetched together with the visits, so the returned visits can be mapped without further queries.
+   */
+  @Override
+  public List<Visit> findByPetIdentifierAndTimeRange(
+      @NonNull PetIdentifier petIdentifier, @NonNull Instant from, @NonNull Instant to, Long after, int limit) {
+    isTrue(limit > 0, "Limit must be positive, but was %d", limit);
+    return Collections.unmodifiableList(after == null
+        ? jpaRepository.findByPetIdentifierAndTimeRange(petIdentifier, from, to, Limit.of(limit))
+        : jpaRepository.findByPetIdentifierAndTimeRangeAfter(petIdentifier, from, to, after, Limit.of(limit)));
+  }
+
+  @Override
+  public boolean existsByIdAndPetIdentifier(@NonNull Long id, @NonNull PetIdentifier petIdentifier) {
+    return jpaRepository.existsByIdAndPetIdentifier(id, petIdentifier);
+  }
+
+  /**
+   * Streams all visits, with their pet, in ascending identifier order. Every {@code STREAM_CLEAR_INTERVAL} visits the persistence
+   * context is cleared, so the visits and pets already passed down the stream can be garbage collected. The visits are fully loaded
+   * when handed out, so they remain usable after being detached.
+   *
+   * @return a Stream of all visits; must be consumed within a transaction and closed after use
+   */
+  @Override
+  public Stream<Visit> streamAll() {
+    AtomicLong count = new AtomicLong();
+    return jpaRepository.streamAllWithPet()
+        .map(entity -> {
+          if (count.incrementAndGet() % STREAM_CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+          }
+          return entity;
+        });
+  }
+}
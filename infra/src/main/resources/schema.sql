@@ -2,13 +2,23 @@
 DROP TABLE IF EXISTS visits;
 DROP TABLE IF EXISTS pets;
 DROP TABLE IF EXISTS owners;
+DROP SEQUENCE IF EXISTS visits_seq;
+DROP SEQUENCE IF EXISTS pets_seq;
+DROP SEQUENCE IF EXISTS owners_seq;
+
+-- Sequences for the primary keys. Hibernate reserves 50 ids per call (pooled-lo optimizer), so INCREMENT BY must match the
+-- allocation size of the entities. Rows inserted by plain SQL take the next value through the column default.
+CREATE SEQUENCE owners_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE pets_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE visits_seq START WITH 1 INCREMENT BY 50;
 
 -- Owners Table
 CREATE TABLE owners
 (
-    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id         BIGINT DEFAULT NEXT VALUE FOR owners_seq PRIMARY KEY,
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
     updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    version    BIGINT DEFAULT 0                                   NOT NULL,
     first_name VARCHAR(255)                                       NOT NULL,
     last_name  VARCHAR(255)                                       NOT NULL,
     address    VARCHAR(255)                                       NOT NULL,
@@ -20,9 +30,10 @@ CREATE TABLE owners
 -- Pets Table
 CREATE TABLE pets
 (
-    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id             BIGINT DEFAULT NEXT VALUE FOR pets_seq PRIMARY KEY,
     created_at     TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
     updated_at     TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    version        BIGINT DEFAULT 0                                   NOT NULL,
     identifier VARCHAR(16)                                        NOT NULL UNIQUE,
     name           VARCHAR(255)                                       NOT NULL,
     type           VARCHAR(20)                                        NOT NULL CHECK (type IN
@@ -32,6 +43,8 @@ CREATE TABLE pets
     gender         VARCHAR(10)                                        NOT NULL CHECK (gender IN ('MALE', 'FEMALE')),
     birth_date     DATE                                               NOT NULL,
     description    VARCHAR(2048),
+    description_status VARCHAR(20) DEFAULT 'ORIGINAL'                 NOT NULL CHECK (description_status IN
+                                                                                      ('PENDING', 'ENHANCED', 'ORIGINAL')),
     owner_id       BIGINT                                             NOT NULL,
     CONSTRAINT fk_pet_owner FOREIGN KEY (owner_id) REFERENCES owners (id) ON DELETE CASCADE
 );
@@ -39,17 +52,20 @@ CREATE TABLE pets
 -- Visits Table
 CREATE TABLE visits
 (
-    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id          BIGINT DEFAULT NEXT VALUE FOR visits_seq PRIMARY KEY,
     created_at  TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
     updated_at  TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    version     BIGINT DEFAULT 0                                   NOT NULL,
     pet_id      BIGINT                                             NOT NULL,
     time        TIMESTAMP(6) WITH TIME ZONE                        NOT NULL,
     description VARCHAR(255)                                       NOT NULL,
     CONSTRAINT fk_visit_pet FOREIGN KEY (pet_id) REFERENCES pets (id) ON DELETE CASCADE
 );
 
--- Indexes for better performance
-CREATE INDEX idx_owners_email ON owners (email);
-CREATE INDEX idx_owners_telephone ON owners (telephone);
-CREATE INDEX idx_pets_name ON pets (name);
-CREATE INDEX idx_visits_pet ON visits (pet_id);
+-- Indexes backing the repository queries. The UNIQUE constraints on owners.email, owners.telephone and pets.identifier are enforced
+-- through unique indexes of their own, which also serve lookups by those columns (e.g. the natural-id lookup of pets by identifier
+-- and the covering range scan for the highest identifier of a day), so they are not indexed a second time. Likewise, H2 backs every
+-- foreign key with an index of its own, which serves the pets of an owner and the visits of a pet.
+CREATE INDEX idx_owners_last_name ON owners (last_name);      -- Owners by last name
+CREATE INDEX idx_pets_name ON pets (name);                    -- Pets by name
+CREATE INDEX idx_visits_pet_time ON visits (pet_id, time);    -- Visits of a pet within a time range, in time order
@@ -0,0 +1,81 @@
+package no.acntech.hexapetclinic.test.infra;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.model.EmailAddress;
+import no.acntech.hexapetclinic.domain.model.Gender;
+import no.acntech.hexapetclinic.domain.model.Owner;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.model.PetType;
+import no.acntech.hexapetclinic.domain.model.TelephoneNumber;
+import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.OwnerJpaEntity;
+
+/**
+ * Registers owners and pets of their own for tests running against the shared test database.
+ * <p>
+ * The telephone number and email address of every owner are drawn at random, so that owners registered by different tests, or by
+ * repeated runs against the same database, do not collide on the unique constraints.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RegistrationFixtures {
+
+  private static final LocalDate BIRTH_DATE = LocalDate.of(2021, 3, 14);
+
+  /**
+   * Registers a new owner.
+   *
+   * @param ownerRepository the repository the owner is saved to
+   * @return the saved owner
+   */
+  public static Owner registerOwner(@NonNull OwnerRepository ownerRepository) {
+    long unique = ThreadLocalRandom.current().nextLong(10_000_000L, 100_000_000L);
+    return ownerRepository.save(OwnerJpaEntity.builder()
+        .firstName("Fixture")
+        .lastName("Owner")
+        .address("Storgata 1")
+        .city("Oslo")
+        .telephone(TelephoneNumber.of("+47" + unique))
+        .email(EmailAddress.of("fixture.owner." + unique + "@example.com"))
+        .build());
+  }
+
+  /**
+   * Registers a new pet with the given name under an owner.
+   *
+   * @param ownerRepository        the repository the owner is saved to, with the pet
+   * @param petIdentifierAllocator the allocator of the pet's identifier
+   * @param owner                  the owner of the pet
+   * @param name                   the name of the pet
+   * @return the identifier of the registered pet
+   */
+  public static PetIdentifier registerPet(
+      @NonNull OwnerRepository ownerRepository,
+      @NonNull PetIdentifierAllocator petIdentifierAllocator,
+      @NonNull Owner owner,
+      @NonNull String name) {
+    PetIdentifier identifier = petIdentifierAllocator.allocate(BIRTH_DATE, Gender.MALE);
+    owner.registerPet(identifier, name, PetType.DOG, "Beagle", Gender.MALE, BIRTH_DATE, "Registered by a test.");
+    ownerRepository.save(owner);
+    return identifier;
+  }
+
+  /**
+   * Registers a new pet with the given name under a new owner.
+   *
+   * @param ownerRepository        the repository the owner is saved to, with the pet
+   * @param petIdentifierAllocator the allocator of the pet's identifier
+   * @param name                   the name of the pet
+   * @return the identifier of the registered pet
+   */
+  public static PetIdentifier registerPet(
+      @NonNull OwnerRepository ownerRepository,
+      @NonNull PetIdentifierAllocator petIdentifierAllocator,
+      @NonNull String name) {
+    return registerPet(ownerRepository, petIdentifierAllocator, registerOwner(ownerRepository), name);
+  }
+}
@@ -0,0 +1,138 @@
+package no.acntech.hexapetclinic.test.infra.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.azure.ai.openai.OpenAIClientBuilder;
+import com.azure.core.http.HttpHeaderName;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.connector.PetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.model.PetType;
+import no.acntech.hexapetclinic.infra.adapter.BatchingPetDescriptionEnhancer;
+import no.acntech.hexapetclinic.infra.adapter.PetDescriptionEnhancerAzureOpenAiAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmark of batched against unbatched pet description enhancement, using the Azure OpenAI adapter against a
+ * {@link FakeOpenAiServer} with a fixed latency and a limited number of concurrent requests.
+ * <p>
+ * Throughput numbers vary between machines and are only logged. The assertions are made on the number of requests reaching the
+ * server, which is what batching saves, and on the calls to the server timed by the adapter. The measurement is tagged
+ * {@code benchmark} and left out of the default build. Also verifies that closing the batching enhancer fails the requests it has not
+ * sent.
+ */
+@Slf4j
+class BatchingPetDescriptionEnhancerBenchmarkTest {
+
+  private static final Duration SERVER_LATENCY = Duration.ofMillis(50);
+  private static final int SERVER_MAX_CONCURRENT_REQUESTS = 4;
+
+  private static final int CALLERS = 16;
+  private static final int ENHANCEMENTS = 128;
+  private static final Duration BATCH_WINDOW = Duration.ofMillis(20);
+  private static final int MAX_BATCH_SIZE = 16;
+
+  private FakeOpenAiServer server;
+  private SimpleMeterRegistry meterRegistry;
+  private PetDescriptionEnhancerAzureOpenAiAdapter azureOpenAiAdapter;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = new FakeOpenAiServer(SERVER_LATENCY, SERVER_MAX_CONCURRENT_REQUESTS);
+    // Key credentials are refused over plain HTTP, which is all the fake server speaks
+    OpenAIClientBuilder openAiClientBuilder = new OpenAIClientBuilder()
+        .endpoint(server.getEndpointUrl())
+        .addPolicy((context, next) -> {
+          context.getHttpRequest().setHeader(HttpHeaderName.fromString("api-key"), "fake-api-key");
+          return next.process();
+        });
+    meterRegistry = new SimpleMeterRegistry();
+    azureOpenAiAdapter = new PetDescriptionEnhancerAzureOpenAiAdapter(openAiClientBuilder, "gpt-4o-mini", meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.close();
+  }
+
+  @Test
+  @Tag("benchmark")
+  void batching_shouldReduceRequestsToEnhancementService() throws Exception {
+    // Warm up the HTTP client and JSON mapping
+    run(azureOpenAiAdapter, CALLERS);
+    server.resetRequests();
+
+    double unbatchedThroughput = run(azureOpenAiAdapter, ENHANCEMENTS);
+    int unbatchedRequests = server.getRequests();
+    server.resetRequests();
+
+    double batchedThroughput;
+    try (BatchingPetDescriptionEnhancer batchingEnhancer =
+        new BatchingPetDescriptionEnhancer(azureOpenAiAdapter, BATCH_WINDOW, MAX_BATCH_SIZE, new SimpleMeterRegistry()).start()) {
+      batchedThroughput = run(batchingEnhancer, ENHANCEMENTS);
+    }
+    int batchedRequests = server.getRequests();
+
+    log.info("Unbatched: {} enhancements/s, {} requests", Math.round(unbatchedThroughput), unbatchedRequests);
+    log.info("Batched: {} enhancements/s, {} requests", Math.round(batchedThroughput), batchedRequests);
+
+    assertEquals(ENHANCEMENTS, unbatchedRequests);
+    assertEquals(CALLERS + ENHANCEMENTS, serviceCalls("enhanceDescription"), "Every unbatched request should be timed");
+    assertEquals(batchedRequests, serviceCalls("enhanceDescriptions"), "Every batched request should be timed");
+    assertTrue(batchedRequests <= ENHANCEMENTS / 4,
+        "Enhancements should be batched, but " + batchedRequests + " requests reached the server");
+  }
+
+  @Test
+  void close_shouldFailRequestsNotSent() {
+    BatchingPetDescriptionEnhancer batchingEnhancer =
+        new BatchingPetDescriptionEnhancer(azureOpenAiAdapter, BATCH_WINDOW, MAX_BATCH_SIZE, new SimpleMeterRegistry());
+    CompletableFuture<String> queued = batchingEnhancer.enhanceDescriptionAsync(PetType.DOG, "Beagle", "Queued");
+
+    batchingEnhancer.close();
+
+    ExecutionException queuedFailure = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalStateException.class, queuedFailure.getCause());
+    CompletableFuture<String> late = batchingEnhancer.enhanceDescriptionAsync(PetType.DOG, "Beagle", "Late");
+    ExecutionException lateFailure = assertThrows(ExecutionException.class, () -> late.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalStateException.class, lateFailure.getCause());
+    assertThrows(IllegalStateException.class, batchingEnhancer::start);
+    assertEquals(0, server.getRequests());
+  }
+
+  private long serviceCalls(String method) {
+    return meterRegistry.get(PetDescriptionEnhancerAzureOpenAiAdapter.SERVICE_CALLS_TIMER)
+        .tags(PetDescriptionEnhancerAzureOpenAiAdapter.METHOD_TAG, method,
+            PetDescriptionEnhancerAzureOpenAiAdapter.OUTCOME_TAG, PetDescriptionEnhancerAzureOpenAiAdapter.SUCCESS)
+        .timer()
+        .count();
+  }
+
+  private double run(PetDescriptionEnhancer enhancer, int enhancements) throws Exception {
+    long start = System.nanoTime();
+    try (ExecutorService callers = Executors.newFixedThreadPool(CALLERS)) {
+      List<Future<String>> results = IntStream.range(0, enhancements)
+          .mapToObj(i -> callers.submit(() -> enhancer.enhanceDescription(PetType.DOG, "Beagle", "Pet " + i)))
+          .toList();
+      for (int i = 0; i < enhancements; i++) {
+        assertEquals("Pet " + i + FakeOpenAiServer.ENHANCEMENT_SUFFIX, results.get(i).get());
+      }
+    }
+    return enhancements / (Duration.ofNanos(System.nanoTime() - start).toMillis() / 1000.0);
+  }
+}
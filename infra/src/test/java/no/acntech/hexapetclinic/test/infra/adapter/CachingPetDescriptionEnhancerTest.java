@@ -0,0 +1,108 @@
+package no.acntech.hexapetclinic.test.infra.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import no.acntech.hexapetclinic.domain.connector.AsyncPetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.connector.PetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.model.PetType;
+import no.acntech.hexapetclinic.infra.adapter.CachingPetDescriptionEnhancer;
+import org.junit.jupiter.api.Test;
+
+class CachingPetDescriptionEnhancerTest {
+
+  private static final String BREED = "Golden Retriever";
+  private static final String DESCRIPTION = "Very playful";
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger delegateCalls = new AtomicInteger();
+
+  @Test
+  void enhanceDescription_shouldCallDelegateOncePerKey() {
+    PetDescriptionEnhancer enhancer = cachingEnhancer((petType, breed, description) -> {
+      delegateCalls.incrementAndGet();
+      return description + " and loyal";
+    });
+
+    assertEquals("Very playful and loyal", enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION));
+    assertEquals("Very playful and loyal", enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION));
+    assertEquals("Calm and loyal", enhancer.enhanceDescription(PetType.DOG, BREED, "Calm"));
+
+    assertEquals(2, delegateCalls.get());
+    assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    assertEquals(2, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+  }
+
+  @Test
+  void enhanceDescription_shouldShareDelegateCallBetweenConcurrentRequests() throws Exception {
+    int requests = 8;
+    CountDownLatch delegateReleased = new CountDownLatch(1);
+    PetDescriptionEnhancer enhancer = cachingEnhancer((petType, breed, description) -> {
+      delegateCalls.incrementAndGet();
+      delegateReleased.await(10, TimeUnit.SECONDS);
+      return description + " and loyal";
+    });
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+      List<Future<String>> results = IntStream.range(0, requests)
+          .mapToObj(i -> executor.submit(() -> enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION)))
+          .toList();
+      // Give the requests time to pile up on the in-flight call
+      Thread.sleep(200);
+      delegateReleased.countDown();
+      for (Future<String> result : results) {
+        assertEquals("Very playful and loyal", result.get());
+      }
+    }
+
+    assertEquals(1, delegateCalls.get());
+  }
+
+  @Test
+  void enhanceDescription_shouldNotCacheUnenhancedDescription() {
+    PetDescriptionEnhancer enhancer = cachingEnhancer((petType, breed, description) -> {
+      delegateCalls.incrementAndGet();
+      return description;
+    });
+
+    enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION);
+    enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION);
+
+    assertEquals(2, delegateCalls.get());
+  }
+
+  private PetDescriptionEnhancer cachingEnhancer(ThrowingEnhancer delegate) {
+    return new CachingPetDescriptionEnhancer(delegate, 100, Duration.ofMinutes(1), meterRegistry);
+  }
+
+  @FunctionalInterface
+  private interface ThrowingEnhancer extends AsyncPetDescriptionEnhancer {
+
+    String enhance(PetType petType, String breed, String description) throws Exception;
+
+    @Override
+    default String enhanceDescription(PetType petType, String breed, String description) {
+      try {
+        return enhance(petType, breed, description);
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    default CompletableFuture<String> enhanceDescriptionAsync(PetType petType, String breed, String description) {
+      return CompletableFuture.supplyAsync(() -> enhanceDescription(petType, breed, description), Thread.ofVirtual()::start);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package no.acntech.hexapetclinic.test.infra.adapter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stand-in for the Azure OpenAI chat completions endpoint.
+ * <p>
+ * Every request takes a fixed latency, and at most a fixed number of requests are served concurrently, like a rate-limited
+ * deployment. Single descriptions are answered with the description from the prompt and a suffix; batches, recognized by a JSON array in the user
+ * message, are answered with a JSON array holding one such description per pet.
+ */
+public class FakeOpenAiServer implements AutoCloseable {
+
+  public static final String ENHANCEMENT_SUFFIX = " (enhanced)";
+
+  private static final String DESCRIPTION_PREFIX = "Description: ";
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final Duration latency;
+  private final AtomicInteger requests = new AtomicInteger();
+
+  public FakeOpenAiServer(Duration latency, int maxConcurrentRequests) throws IOException {
+    this.latency = latency;
+    this.executor = Executors.newFixedThreadPool(maxConcurrentRequests);
+    this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    this.server.createContext("/", this::handle);
+    this.server.setExecutor(executor);
+    this.server.start();
+  }
+
+  public String getEndpointUrl() {
+    return "http://localhost:" + server.getAddress().getPort();
+  }
+
+  public int getRequests() {
+    return requests.get();
+  }
+
+  public void resetRequests() {
+    requests.set(0);
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    try (exchange) {
+      JsonNode request = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+      JsonNode messages = request.path("messages");
+      String userMessage = messages.get(messages.size() - 1).path("content").asText();
+
+      Thread.sleep(latency);
+
+      byte[] body = OBJECT_MAPPER.writeValueAsBytes(chatCompletion(enhance(userMessage)));
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String enhance(String userMessage) throws IOException {
+    if (!userMessage.startsWith("[")) {
+      String description = userMessage.substring(userMessage.lastIndexOf(DESCRIPTION_PREFIX) + DESCRIPTION_PREFIX.length());
+      return description + ENHANCEMENT_SUFFIX;
+    }
+    ArrayNode descriptions = OBJECT_MAPPER.createArrayNode();
+    for (JsonNode pet : OBJECT_MAPPER.readTree(userMessage)) {
+      descriptions.add(pet.path("description").asText() + ENHANCEMENT_SUFFIX);
+    }
+    return OBJECT_MAPPER.writeValueAsString(descriptions);
+  }
+
+  private static ObjectNode chatCompletion(String content) {
+    ObjectNode completion = OBJECT_MAPPER.createObjectNode()
+        .put("id", "chatcmpl-fake")
+        .put("object", "chat.completion")
+        .put("created", System.currentTimeMillis() / 1000)
+        .put("model", "gpt-4o-mini");
+    completion.putArray("choices").addObject()
+        .put("index", 0)
+        .put("finish_reason", "stop")
+        .putObject("message")
+        .put("role", "assistant")
+        .put("content", content);
+    completion.putObject("usage")
+        .put("prompt_tokens", 1)
+        .put("completion_tokens", 1)
+        .put("total_tokens", 2);
+    return completion;
+  }
+}
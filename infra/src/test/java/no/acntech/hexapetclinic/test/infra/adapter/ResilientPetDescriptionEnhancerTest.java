@@ -0,0 +1,110 @@
+package no.acntech.hexapetclinic.test.infra.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import no.acntech.hexapetclinic.domain.model.PetType;
+import no.acntech.hexapetclinic.infra.adapter.ResilientPetDescriptionEnhancer;
+import no.acntech.hexapetclinic.infra.adapter.ResilientPetDescriptionEnhancer.CircuitState;
+import org.junit.jupiter.api.Test;
+
+class ResilientPetDescriptionEnhancerTest {
+
+  private static final String BREED = "Golden Retriever";
+  private static final String DESCRIPTION = "Very playful";
+
+  private static final Duration TIMEOUT = Duration.ofMillis(200);
+  private static final int FAILURE_THRESHOLD = 3;
+  private static final Duration OPEN_DURATION = Duration.ofMillis(500);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final StubPetDescriptionEnhancer stub = new StubPetDescriptionEnhancer();
+
+  @Test
+  void enhanceDescription_shouldFallBackWhenDeadlineIsExceeded() {
+    ResilientPetDescriptionEnhancer enhancer = resilientEnhancer(2);
+    stub.setLatency(Duration.ofSeconds(5));
+
+    long start = System.nanoTime();
+    String result = enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION);
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    assertEquals(DESCRIPTION, result);
+    assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "Caller should not wait for the slow call, but waited " + elapsed);
+    assertEquals(1, fallbacks("TIMEOUT"));
+  }
+
+  @Test
+  void enhanceDescriptionAsync_shouldFallBackAndReleaseBulkheadWhenDeadlineIsExceeded() throws Exception {
+    ResilientPetDescriptionEnhancer enhancer = resilientEnhancer(2);
+    stub.setLatency(Duration.ofSeconds(5));
+
+    CompletableFuture<String> result = enhancer.enhanceDescriptionAsync(PetType.DOG, BREED, DESCRIPTION);
+
+    assertEquals(DESCRIPTION, result.get(1, TimeUnit.SECONDS));
+    assertEquals(1, fallbacks("TIMEOUT"));
+    // The timed-out call is cancelled rather than left holding its permit until the delegate returns
+    assertEquals(2, meterRegistry.get(ResilientPetDescriptionEnhancer.BULKHEAD_AVAILABLE_GAUGE).gauge().value());
+  }
+
+  @Test
+  void enhanceDescription_shouldFallBackWhenBulkheadIsFull() throws Exception {
+    ResilientPetDescriptionEnhancer enhancer = resilientEnhancer(1);
+    stub.setLatency(Duration.ofMillis(150));
+
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION));
+    Thread.sleep(50);
+    String second = enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION);
+
+    assertEquals(DESCRIPTION, second);
+    assertEquals(DESCRIPTION + StubPetDescriptionEnhancer.ENHANCEMENT_SUFFIX, first.get());
+    assertEquals(1, stub.getCalls());
+    assertEquals(1, fallbacks("BULKHEAD_FULL"));
+  }
+
+  @Test
+  void enhanceDescription_shouldOpenCircuitAfterConsecutiveFailuresAndCloseAfterTrialCall() throws Exception {
+    ResilientPetDescriptionEnhancer enhancer = resilientEnhancer(2);
+    stub.setFailing(true);
+
+    for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+      assertEquals(DESCRIPTION, enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION));
+    }
+    assertEquals(CircuitState.OPEN, enhancer.getCircuitState());
+
+    // Rejected without reaching the service while open
+    assertEquals(DESCRIPTION, enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION));
+    assertEquals(FAILURE_THRESHOLD, stub.getCalls());
+    assertEquals(1, fallbacks("CIRCUIT_OPEN"));
+
+    Thread.sleep(OPEN_DURATION.toMillis() + 50);
+    stub.setFailing(false);
+
+    assertEquals(DESCRIPTION + StubPetDescriptionEnhancer.ENHANCEMENT_SUFFIX,
+        enhancer.enhanceDescription(PetType.DOG, BREED, DESCRIPTION));
+    assertEquals(CircuitState.CLOSED, enhancer.getCircuitState());
+    assertEquals(1, transitions(CircuitState.CLOSED, CircuitState.OPEN));
+    assertEquals(1, transitions(CircuitState.OPEN, CircuitState.HALF_OPEN));
+    assertEquals(1, transitions(CircuitState.HALF_OPEN, CircuitState.CLOSED));
+  }
+
+  private ResilientPetDescriptionEnhancer resilientEnhancer(int maxConcurrentCalls) {
+    return new ResilientPetDescriptionEnhancer(stub, TIMEOUT, maxConcurrentCalls, FAILURE_THRESHOLD, OPEN_DURATION, meterRegistry);
+  }
+
+  private double fallbacks(String reason) {
+    return meterRegistry.get(ResilientPetDescriptionEnhancer.FALLBACKS_COUNTER).tag("reason", reason).counter().count();
+  }
+
+  private double transitions(CircuitState from, CircuitState to) {
+    return meterRegistry.get(ResilientPetDescriptionEnhancer.CIRCUIT_TRANSITIONS_COUNTER)
+        .tag("from", from.name())
+        .tag("to", to.name())
+        .counter().count();
+  }
+}
@@ -0,0 +1,49 @@
+package no.acntech.hexapetclinic.test.infra.adapter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import lombok.Setter;
+import no.acntech.hexapetclinic.domain.connector.AsyncPetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.model.PetType;
+
+/**
+ * A local stand-in for the enhancement service, with configurable latency and failures. Asynchronous enhancements run on a virtual
+ * thread of their own.
+ */
+@Setter
+public class StubPetDescriptionEnhancer implements AsyncPetDescriptionEnhancer {
+
+  public static final String ENHANCEMENT_SUFFIX = " (enhanced)";
+
+  private volatile Duration latency = Duration.ZERO;
+  private volatile boolean failing;
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  public int getCalls() {
+    return calls.get();
+  }
+
+  @Override
+  public String enhanceDescription(@NonNull PetType petType, @NonNull String breed, @NonNull String description) {
+    calls.incrementAndGet();
+    try {
+      Thread.sleep(latency);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Stub enhancement interrupted", e);
+    }
+    if (failing) {
+      throw new IllegalStateException("Stub enhancement failed");
+    }
+    return description + ENHANCEMENT_SUFFIX;
+  }
+
+  @Override
+  public CompletableFuture<String> enhanceDescriptionAsync(@NonNull PetType petType, @NonNull String breed,
+      @NonNull String description) {
+    return CompletableFuture.supplyAsync(() -> enhanceDescription(petType, breed, description), Thread.ofVirtual()::start);
+  }
+}
@@ -0,0 +1,92 @@
+package no.acntech.hexapetclinic.test.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import no.acntech.hexapetclinic.app.service.PetResponseCache;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.controller.SerializedResponseCache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Verifies that the list and lookup endpoints load visits and pets without lazy loading their associations one row at a time, by
+ * counting the SQL statements Hibernate prepares per request.
+ */
+@SpringBootTest(
+    classes = Application.class,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("local-h2")
+class FetchPlanStatementCountTest {
+
+  private static final String PET_IDENTIFIER = "2020061511234568";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private PetResponseCache petResponseCache;
+
+  @Autowired
+  private SerializedResponseCache serializedResponseCache;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    // Count the statements of a cold read, not of a cache hit
+    entityManagerFactory.getCache().evictAll();
+    petResponseCache.evictAll();
+    serializedResponseCache.evictAll();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void getAllVisits_shouldIssueSingleStatement() throws Exception {
+    mockMvc.perform(get("/visits")).andExpect(status().isOk());
+
+    assertEquals(1, statistics.getPrepareStatementCount(), "Visits should be loaded together with their pets");
+  }
+
+  @Test
+  void getVisitById_shouldIssueSingleStatement() throws Exception {
+    mockMvc.perform(get("/visits/1")).andExpect(status().isOk());
+
+    assertEquals(1, statistics.getPrepareStatementCount(), "Visit should be loaded together with its pet");
+  }
+
+  @Test
+  void getAllPets_shouldIssueSingleStatement() throws Exception {
+    mockMvc.perform(get("/pets")).andExpect(status().isOk());
+
+    assertEquals(1, statistics.getPrepareStatementCount(), "Pets should be mapped without loading their owners");
+  }
+
+  @Test
+  void getPetByIdentifier_shouldIssueSingleStatement() throws Exception {
+    mockMvc.perform(get("/pets/identifier/" + PET_IDENTIFIER)).andExpect(status().isOk());
+
+    assertEquals(1, statistics.getPrepareStatementCount(), "Pet should be mapped without loading its owner");
+  }
+
+  @Test
+  void getPetVisits_shouldIssueSingleStatement() throws Exception {
+    mockMvc.perform(get("/pets/identifier/" + PET_IDENTIFIER + "/visits")).andExpect(status().isOk());
+
+    assertEquals(1, statistics.getPrepareStatementCount(), "Visits should be joined to their pet by its identifier");
+  }
+}
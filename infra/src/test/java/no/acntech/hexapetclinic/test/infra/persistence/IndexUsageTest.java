@@ -0,0 +1,166 @@
+package no.acntech.hexapetclinic.test.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.repository.PetRepository;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.persistence.jpa.repository.OwnerJpaRepository;
+import no.acntech.hexapetclinic.infra.persistence.jpa.repository.PetJpaRepository;
+import no.acntech.hexapetclinic.infra.persistence.jpa.repository.VisitJpaRepository;
+import org.hibernate.Cache;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Verifies that the queries of the repository methods are answered through an index rather than a table scan, by loading a large
+ * synthetic dataset and asking H2 for the plan ({@code EXPLAIN}) of every statement Hibernate issues for each method.
+ * <p>
+ * Methods that read whole tables by design, {@code findAll} and the streaming export of all visits, are not covered.
+ */
+@SpringBootTest(
+    classes = Application.class,
+    properties = {
+        "application.datasource.name=indexusagedb", // Keeps the synthetic dataset out of the database shared by the other tests
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "no.acntech.hexapetclinic.test.infra.persistence.IndexUsageTest$StatementCapture"
+    })
+@ActiveProfiles("local-h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class IndexUsageTest {
+
+  private static final int OWNERS = 20_000;
+  private static final int PETS_PER_OWNER = 2;
+  private static final int VISITS_PER_PET = 5;
+
+  private static final String TABLE_SCAN = "tableScan";
+  private static final String PET_IDENTIFIER = "2020061511234568";
+  private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+  private static final Instant TO = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Autowired
+  private OwnerJpaRepository ownerJpaRepository;
+
+  @Autowired
+  private PetJpaRepository petJpaRepository;
+
+  @Autowired
+  private VisitJpaRepository visitJpaRepository;
+
+  @Autowired
+  private PetRepository petRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @BeforeAll
+  void loadSyntheticDataset() {
+    jdbcTemplate.update("""
+        INSERT INTO owners (address, city, email, first_name, last_name, telephone)
+        SELECT 'Storgata ' || X, 'Oslo', 'owner.' || X || '@example.com', 'First' || MOD(X, 1000), 'Last' || MOD(X, 5000),
+               '+4790' || LPAD(X, 6, '0')
+        FROM SYSTEM_RANGE(1, ?)""", OWNERS);
+    jdbcTemplate.update("""
+        INSERT INTO pets (birth_date, description, name, identifier, type, gender, breed, owner_id)
+        SELECT DATE '2015-01-01' + MOD(o.id, 3000), 'Synthetic', 'Pet' || MOD(o.id * R.X, 7000),
+               '1999' || LPAD(o.id * 10 + R.X, 12, '0'), 'DOG', 'MALE', 'Mixed', o.id
+        FROM owners o CROSS JOIN SYSTEM_RANGE(1, ?) R
+        WHERE o.email LIKE 'owner.%'""", PETS_PER_OWNER);
+    jdbcTemplate.update("""
+        INSERT INTO visits (description, time, pet_id)
+        SELECT 'Check-up', TIMESTAMP WITH TIME ZONE '2024-01-01 00:00:00+00' + (R.X * 7) DAY, p.id
+        FROM pets p CROSS JOIN SYSTEM_RANGE(1, ?) R
+        WHERE p.description = 'Synthetic'""", VISITS_PER_PET);
+    jdbcTemplate.execute("ANALYZE");
+  }
+
+  @Test
+  void ownerQueries_shouldUseIndexes() {
+    assertIndexed("OwnerJpaRepository.findByLastName", () -> ownerJpaRepository.findByLastName("Last42"));
+    assertIndexed("OwnerJpaRepository.findAllByOrderByIdAsc", () -> ownerJpaRepository.findAllByOrderByIdAsc(Limit.of(100)));
+    assertIndexed("OwnerJpaRepository.findByIdGreaterThanOrderByIdAsc",
+        () -> ownerJpaRepository.findByIdGreaterThanOrderByIdAsc(1000L, Limit.of(100)));
+    assertIndexed("Owner.getPets", () -> transactionTemplate.executeWithoutResult(status ->
+        ownerJpaRepository.findAllByOrderByIdAsc(Limit.of(1)).getFirst().getPets().size()));
+  }
+
+  @Test
+  void petQueries_shouldUseIndexes() {
+    assertIndexed("PetJpaRepository.findByName", () -> petJpaRepository.findByName("Pet42"));
+    assertIndexed("PetJpaRepository.findMaxIdentifierBetween",
+        () -> petJpaRepository.findMaxIdentifierBetween("2020061500000000", "2020061599999999"));
+    assertIndexed("PetRepository.findByIdentifier", () -> petRepository.findByIdentifier(PetIdentifier.of(PET_IDENTIFIER)));
+    assertIndexed("PetJpaRepository.findAllByOrderByIdAsc", () -> petJpaRepository.findAllByOrderByIdAsc(Limit.of(100)));
+    assertIndexed("PetJpaRepository.findByIdGreaterThanOrderByIdAsc",
+        () -> petJpaRepository.findByIdGreaterThanOrderByIdAsc(1000L, Limit.of(100)));
+  }
+
+  @Test
+  void visitQueries_shouldUseIndexes() {
+    assertIndexed("VisitJpaRepository.findByPetIdentifier",
+        () -> visitJpaRepository.findByPetIdentifier(PetIdentifier.of(PET_IDENTIFIER)));
+    assertIndexed("VisitJpaRepository.findByPetIdentifierAndTimeRange",
+        () -> visitJpaRepository.findByPetIdentifierAndTimeRange(PetIdentifier.of(PET_IDENTIFIER), FROM, TO, Limit.of(100)));
+    assertIndexed("VisitJpaRepository.findByPetIdentifierAndTimeRangeAfter",
+        () -> visitJpaRepository.findByPetIdentifierAndTimeRangeAfter(PetIdentifier.of(PET_IDENTIFIER), FROM, TO, 1L, Limit.of(100)));
+    assertIndexed("VisitJpaRepository.findById", () -> visitJpaRepository.findById(1L));
+    assertIndexed("VisitJpaRepository.findAllByOrderByIdAsc", () -> visitJpaRepository.findAllByOrderByIdAsc(Limit.of(100)));
+    assertIndexed("VisitJpaRepository.findByIdGreaterThanOrderByIdAsc",
+        () -> visitJpaRepository.findByIdGreaterThanOrderByIdAsc(1000L, Limit.of(100)));
+  }
+
+  private void assertIndexed(String method, Runnable invocation) {
+    entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions(); // Make every lookup reach the database
+    StatementCapture.STATEMENTS.clear();
+    invocation.run();
+
+    List<String> statements = new ArrayList<>(StatementCapture.STATEMENTS);
+    assertFalse(statements.isEmpty(), method + " should query the database");
+    for (String statement : statements) {
+      String plan = explain(statement);
+      log.info("Plan of {}:\n{}", method, plan);
+      assertFalse(plan.contains(TABLE_SCAN), method + " should not scan a whole table:\n" + plan);
+    }
+  }
+
+  private String explain(String statement) {
+    Object[] parameters = new Object[(int) statement.chars().filter(c -> c == '?').count()]; // Plans do not depend on the values
+    return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + statement, String.class, parameters));
+  }
+
+  /**
+   * Records the SQL of every statement Hibernate prepares.
+   */
+  public static class StatementCapture implements StatementInspector {
+
+    static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String inspect(String sql) {
+      STATEMENTS.add(sql);
+      return sql;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package no.acntech.hexapetclinic.test.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import no.acntech.hexapetclinic.domain.model.Owner;
+import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.controller.ResponseMeta;
+import no.acntech.hexapetclinic.infra.controller.advice.OptimisticLockingFailureAdvice;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.OwnerJpaEntity;
+import no.acntech.hexapetclinic.test.infra.RegistrationFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Verifies that concurrent changes of the same entity are detected by its version column, and that the resulting optimistic locking
+ * failure is answered with {@code 409 Conflict}.
+ */
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("local-h2")
+class OptimisticLockingTest {
+
+  @Autowired
+  private OwnerRepository ownerRepository;
+
+  @Test
+  void save_shouldRejectChangeOfOutdatedVersion() {
+    Long ownerId = RegistrationFixtures.registerOwner(ownerRepository).getId();
+    Owner first = ownerRepository.findByIdOrElseThrow(ownerId);
+    Owner second = ownerRepository.findByIdOrElseThrow(ownerId);
+    assertEquals(0L, first.getVersion());
+
+    first.changeCity("Bergen");
+    ownerRepository.save(first);
+    assertEquals(1L, ownerRepository.findByIdOrElseThrow(ownerId).getVersion(), "Saving a change should increment the version");
+
+    second.changeCity("Trondheim");
+    assertThrows(OptimisticLockingFailureException.class, () -> ownerRepository.save(second));
+    assertEquals("Bergen", ownerRepository.findByIdOrElseThrow(ownerId).getCity(), "Concurrent change should not be overwritten");
+  }
+
+  @Test
+  void optimisticLockingFailure_shouldBeAnsweredWithConflict() throws Exception {
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ConflictingController())
+        .setControllerAdvice(new OptimisticLockingFailureAdvice())
+        .build();
+
+    mockMvc.perform(get("/conflict"))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.meta." + ResponseMeta.ERROR_KEY).exists());
+  }
+
+  @RestController
+  static class ConflictingController {
+
+    @GetMapping("/conflict")
+    void conflict() {
+      throw new ObjectOptimisticLockingFailureException(OwnerJpaEntity.class, 1L);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package no.acntech.hexapetclinic.test.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.model.Gender;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.model.ValueObjectInterners;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter.PetIdConverter;
+import no.acntech.hexapetclinic.test.domain.Microbenchmark;
+import no.acntech.hexapetclinic.test.domain.Microbenchmark.Result;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Micro-benchmark of the {@link PetIdentifier} paths run on lookups, registrations and every loaded pet row: parsing with
+ * {@link PetIdentifier#of(String)}, with and without interning, creating with {@link PetIdentifier#generate(int, int, int, Gender, int)} and converting a column
+ * value with {@link PetIdConverter}.
+ * <p>
+ * Reports the time and the bytes allocated per operation, measured by {@link Microbenchmark}. The numbers vary between machines and
+ * JVMs and are only logged. Tagged {@code benchmark}, so it is left out of the default build.
+ */
+@Slf4j
+@Tag("benchmark")
+class PetIdentifierBenchmarkTest {
+
+  private static final int WARMUP_OPERATIONS = 200_000;
+  private static final int MEASURED_OPERATIONS = 1_000_000;
+
+  private static final String[] IDENTIFIERS = {"2020061511234568", "2018092212345670", "2019111013456781"};
+
+  private final PetIdConverter converter = new PetIdConverter();
+
+  @Test
+  void benchmarkPetIdentifierPaths() throws Exception {
+    Result of = measure(i -> PetIdentifier.of(IDENTIFIERS[i % IDENTIFIERS.length]));
+    Result interned = measureInterned(i -> PetIdentifier.of(IDENTIFIERS[i % IDENTIFIERS.length]));
+    Result generate = measure(i -> PetIdentifier.generate(2024, 3, 12, Gender.values()[i & 1], i % PetIdentifier.MAX_UNIQUE + 1));
+    Result convert = measure(i -> converter.convertToEntityAttribute(IDENTIFIERS[i % IDENTIFIERS.length]));
+
+    log.info("PetIdentifier.of: {}", of);
+    log.info("PetIdentifier.of, interned: {}", interned);
+    log.info("PetIdentifier.generate: {}", generate);
+    log.info("PetIdConverter.convertToEntityAttribute: {}", convert);
+
+    assertEquals(IDENTIFIERS[0], converter.convertToEntityAttribute(IDENTIFIERS[0]).getPrimitive());
+  }
+
+  private static Result measureInterned(IntFunction<PetIdentifier> operation) throws Exception {
+    ValueObjectInterners.PET_IDENTIFIERS.enable(1000);
+    try {
+      return measure(operation);
+    } finally {
+      ValueObjectInterners.PET_IDENTIFIERS.disable();
+    }
+  }
+
+  private static Result measure(IntFunction<PetIdentifier> operation) throws Exception {
+    return Microbenchmark.measure(WARMUP_OPERATIONS, MEASURED_OPERATIONS, i -> operation.apply(i).getPrimitive().charAt(15));
+  }
+}
@@ -0,0 +1,34 @@
+package no.acntech.hexapetclinic.test.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import no.acntech.hexapetclinic.domain.model.EmailAddress;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter.EmailConverter;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter.PrimitiveValueObjectConverter;
+import org.junit.jupiter.api.Test;
+
+class PrimitiveValueObjectConverterTest {
+
+  @Test
+  void defaultConverter_shouldConstructAndValidateThroughConstructor() {
+    ValidatingEmailConverter converter = new ValidatingEmailConverter();
+
+    assertEquals(EmailAddress.of("john.doe@example.com"), converter.convertToEntityAttribute("john.doe@example.com"));
+    assertNull(converter.convertToEntityAttribute(null));
+    assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute("not-an-email"));
+  }
+
+  @Test
+  void trustedConverter_shouldNotValidateAgain() {
+    EmailConverter converter = new EmailConverter();
+
+    assertEquals("john.doe@example.com", converter.convertToEntityAttribute("john.doe@example.com").getPrimitive());
+    assertEquals("not-an-email", converter.convertToEntityAttribute("not-an-email").getPrimitive());
+  }
+
+  private static class ValidatingEmailConverter extends PrimitiveValueObjectConverter<String, EmailAddress> {
+
+  }
+}
@@ -0,0 +1,202 @@
+package no.acntech.hexapetclinic.test.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.domain.model.EmailAddress;
+import no.acntech.hexapetclinic.domain.model.Gender;
+import no.acntech.hexapetclinic.domain.model.Owner;
+import no.acntech.hexapetclinic.domain.model.Pet;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.model.PetType;
+import no.acntech.hexapetclinic.domain.model.TelephoneNumber;
+import no.acntech.hexapetclinic.domain.model.Visit;
+import no.acntech.hexapetclinic.domain.model.framework.Entity;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.OwnerJpaEntity;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.PetJpaEntity;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.VisitJpaEntity;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.framework.JpaEntity;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.factory.OwnerEntityFactory;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.factory.VisitEntityFactory;
+import no.acntech.hexapetclinic.infra.persistence.jpa.repository.BaseJpaRepository;
+import no.acntech.hexapetclinic.infra.persistence.jpa.repository.OwnerJpaRepository;
+import no.acntech.hexapetclinic.infra.persistence.jpa.repository.PetJpaRepository;
+import no.acntech.hexapetclinic.infra.persistence.jpa.repository.VisitJpaRepository;
+import no.acntech.hexapetclinic.infra.persistence.jpa.repository.adapter.AbstractRepositoryAdapter;
+import no.acntech.hexapetclinic.infra.persistence.jpa.repository.adapter.SaveMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration benchmark of the {@link SaveMode} write strategies on H2. Registers an owner, a pet and a visit per transaction, the
+ * same way the registration endpoints do, and reports the inserts per second of each mode.
+ * <p>
+ * Throughput numbers vary between machines and are only logged. The assertions are made on the number of SQL statements, which is
+ * what the {@link SaveMode#GENERATED_KEYS} mode saves. The measurement is tagged {@code benchmark} and left out of the default build.
+ */
+@SpringBootTest(
+    classes = Application.class,
+    properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Keep SQL logging of the local-h2 profile out of the measurements
+        "logging.level.org.hibernate=INFO",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.orm.jdbc.bind=INFO",
+        "logging.level.org.hibernate.stat=INFO"
+    })
+@ActiveProfiles("local-h2")
+@Slf4j
+class SaveModeBenchmarkTest {
+
+  private static final int WARMUP_REGISTRATIONS = 100;
+  private static final int MEASURED_REGISTRATIONS = 500;
+  private static final int INSERTS_PER_REGISTRATION = 3;
+
+  private static final AtomicInteger SEQUENCE = new AtomicInteger(1000);
+
+  @Autowired
+  private AutowireCapableBeanFactory beanFactory;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private OwnerJpaRepository ownerJpaRepository;
+
+  @Autowired
+  private PetJpaRepository petJpaRepository;
+
+  @Autowired
+  private VisitJpaRepository visitJpaRepository;
+
+  @Autowired
+  private OwnerEntityFactory ownerFactory;
+
+  @Autowired
+  private VisitEntityFactory visitFactory;
+
+  @Test
+  @Tag("benchmark")
+  void generatedKeys_shouldIssueOnlyInserts() {
+    Registrar refreshing = new Registrar(SaveMode.REFRESH);
+    Registrar generatedKeys = new Registrar(SaveMode.GENERATED_KEYS);
+
+    refreshing.register(WARMUP_REGISTRATIONS);
+    generatedKeys.register(WARMUP_REGISTRATIONS);
+
+    Result refreshResult = refreshing.register(MEASURED_REGISTRATIONS);
+    Result generatedKeysResult = generatedKeys.register(MEASURED_REGISTRATIONS);
+
+    log.info("Save mode {}: {} inserts/s, {} statements", SaveMode.REFRESH, refreshResult.insertsPerSecond(),
+        refreshResult.statements());
+    log.info("Save mode {}: {} inserts/s, {} statements", SaveMode.GENERATED_KEYS, generatedKeysResult.insertsPerSecond(),
+        generatedKeysResult.statements());
+
+    // One insert per entity, plus one sequence call per block of identifiers for each of the three sequences
+    long maxSequenceCalls = INSERTS_PER_REGISTRATION * (MEASURED_REGISTRATIONS / JpaEntity.ID_ALLOCATION_SIZE + 1L);
+    assertTrue(generatedKeysResult.statements() <= (long) MEASURED_REGISTRATIONS * INSERTS_PER_REGISTRATION + maxSequenceCalls,
+        "Saving with generated keys should issue only inserts and sequence calls");
+    assertTrue(refreshResult.statements() > generatedKeysResult.statements(),
+        "Saving with refresh should issue additional statements");
+  }
+
+  @Test
+  void generatedKeys_shouldPopulateIdentifierAndAuditTimestamps() {
+    Registrar generatedKeys = new Registrar(SaveMode.GENERATED_KEYS);
+
+    Visit visit = transactionTemplate.execute(status -> generatedKeys.registerOne());
+
+    assertNotNull(visit);
+    VisitJpaEntity entity = (VisitJpaEntity) visit;
+    assertNotNull(entity.getId(), "Identifier should be generated");
+    assertNotNull(entity.getCreatedAt(), "Created timestamp should be set by auditing");
+    assertNotNull(entity.getUpdatedAt(), "Updated timestamp should be set by auditing");
+  }
+
+  private record Result(long statements, long insertsPerSecond) {
+
+  }
+
+  /**
+   * Registers owners, pets and visits through repository adapters using the given save mode.
+   */
+  private class Registrar {
+
+    private final BenchmarkAdapter<Owner, OwnerJpaEntity, OwnerJpaRepository> ownerAdapter;
+    private final BenchmarkAdapter<Pet, PetJpaEntity, PetJpaRepository> petAdapter;
+    private final BenchmarkAdapter<Visit, VisitJpaEntity, VisitJpaRepository> visitAdapter;
+
+    Registrar(SaveMode saveMode) {
+      this.ownerAdapter = autowire(new BenchmarkAdapter<>(ownerJpaRepository, saveMode));
+      this.petAdapter = autowire(new BenchmarkAdapter<>(petJpaRepository, saveMode));
+      this.visitAdapter = autowire(new BenchmarkAdapter<>(visitJpaRepository, saveMode));
+    }
+
+    Result register(int registrations) {
+      Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      statistics.clear();
+
+      long start = System.nanoTime();
+      for (int i = 0; i < registrations; i++) {
+        transactionTemplate.execute(status -> registerOne());
+      }
+      long elapsedNanos = System.nanoTime() - start;
+
+      long inserts = (long) registrations * INSERTS_PER_REGISTRATION;
+      return new Result(statistics.getPrepareStatementCount(), inserts * 1_000_000_000L / elapsedNanos);
+    }
+
+    Visit registerOne() {
+      int sequence = SEQUENCE.incrementAndGet();
+      Owner owner = ownerAdapter.save(ownerFactory.createOwner(
+          "Bench",
+          "Mark",
+          "1 Benchmark Street",
+          "Loadville",
+          TelephoneNumber.of(String.format("%03d-%04d", sequence / 10_000, sequence % 10_000)),
+          EmailAddress.of("bench." + sequence + "@example.com")
+      ));
+      LocalDate birthDate = LocalDate.of(2020, 1, 1).plusDays(sequence % 1000);
+      Pet pet = petAdapter.save(owner.registerPet(
+          PetIdentifier.generate(birthDate.getYear(), birthDate.getMonthValue(), birthDate.getDayOfMonth(), Gender.MALE,
+              sequence / 1000 + 1),
+          "Rex",
+          PetType.DOG,
+          "Beagle",
+          Gender.MALE,
+          birthDate,
+          "Benchmark pet"
+      ));
+      return visitAdapter.save(visitFactory.createVisit(pet, Instant.now(), "Benchmark visit"));
+    }
+
+    private <A> A autowire(A adapter) {
+      beanFactory.autowireBean(adapter);
+      return adapter;
+    }
+  }
+
+  private static class BenchmarkAdapter<T extends Entity<Long>, E extends T, R extends BaseJpaRepository<E, Long>>
+      extends AbstractRepositoryAdapter<T, E, Long, R> {
+
+    BenchmarkAdapter(R jpaRepository, SaveMode saveMode) {
+      super(jpaRepository, saveMode);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package no.acntech.hexapetclinic.test.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.model.Owner;
+import no.acntech.hexapetclinic.domain.model.Pet;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.repository.EntityNotFoundException;
+import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
+import no.acntech.hexapetclinic.domain.repository.PetRepository;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.test.infra.RegistrationFixtures;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifies that owners and pets are read from the second-level cache once cached, and that saving or deleting them through the
+ * repository adapters never leaves a stale entry behind.
+ */
+@SpringBootTest(
+    classes = Application.class,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("local-h2")
+class SecondLevelCacheTest {
+
+  @Autowired
+  private OwnerRepository ownerRepository;
+
+  @Autowired
+  private PetRepository petRepository;
+
+  @Autowired
+  private PetIdentifierAllocator petIdentifierAllocator;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void owner_shouldBeReadFromCacheAndReflectUpdates() {
+    Long ownerId = RegistrationFixtures.registerOwner(ownerRepository).getId();
+    ownerRepository.findByIdOrElseThrow(ownerId);
+
+    statistics.clear();
+    Owner owner = ownerRepository.findByIdOrElseThrow(ownerId);
+    assertEquals(0, statistics.getPrepareStatementCount(), "Owner should be read from the second-level cache");
+    assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+
+    owner.changeCity("Bergen");
+    ownerRepository.save(owner);
+
+    assertEquals("Bergen", ownerRepository.findByIdOrElseThrow(ownerId).getCity());
+  }
+
+  @Test
+  void pet_shouldBeReadByIdentifierFromCacheAndReflectUpdatesAndDeletes() {
+    PetIdentifier identifier = RegistrationFixtures.registerPet(ownerRepository, petIdentifierAllocator, "Rex");
+    petRepository.findByIdentifier(identifier);
+
+    statistics.clear();
+    Pet pet = petRepository.findByIdentifier(identifier);
+    assertEquals(0, statistics.getPrepareStatementCount(), "Pet should be resolved and read from the second-level cache");
+    assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+
+    pet.changeName("Fido");
+    petRepository.save(pet);
+
+    assertEquals("Fido", petRepository.findByIdentifier(identifier).getName());
+    assertEquals("Fido", petRepository.findByIdOrElseThrow(pet.getId()).getName());
+
+    petRepository.deleteById(pet.getId());
+
+    assertThrows(EntityNotFoundException.class, () -> petRepository.findByIdentifier(identifier));
+    assertTrue(petRepository.findById(pet.getId()).isEmpty());
+  }
+}
@@ -0,0 +1,51 @@
+package no.acntech.hexapetclinic.test.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter.EmailConverter;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter.PetIdConverter;
+import no.acntech.hexapetclinic.infra.persistence.jpa.entity.converter.TelephoneNumberConverter;
+import no.acntech.hexapetclinic.test.domain.Microbenchmark;
+import no.acntech.hexapetclinic.test.domain.Microbenchmark.Result;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Micro-benchmark of the value object conversions Hibernate runs for every owner and pet row it loads: the email address and
+ * telephone number of an owner, and the identifier of a pet.
+ * <p>
+ * Reports the time and the bytes allocated per row, measured by {@link Microbenchmark}. The numbers vary between machines and JVMs
+ * and are only logged. Tagged {@code benchmark}, so it is left out of the default build.
+ */
+@Slf4j
+@Tag("benchmark")
+class ValueObjectHydrationBenchmarkTest {
+
+  private static final int WARMUP_ROWS = 200_000;
+  private static final int MEASURED_ROWS = 1_000_000;
+
+  private static final String[] EMAILS = {"john.doe@example.com", "jane.smith@example.org", "ola.nordmann@example.no"};
+  private static final String[] TELEPHONES = {"123-456-7890", "+4712345678", "555 123 4567"};
+  private static final String[] PET_IDENTIFIERS = {"2020061511234568", "2018092212345670", "2019111013456781"};
+
+  private final EmailConverter emailConverter = new EmailConverter();
+  private final TelephoneNumberConverter telephoneNumberConverter = new TelephoneNumberConverter();
+  private final PetIdConverter petIdConverter = new PetIdConverter();
+
+  @Test
+  void benchmarkRowHydration() throws Exception {
+    Result ownerRow = Microbenchmark.measure(WARMUP_ROWS, MEASURED_ROWS,
+        i -> emailConverter.convertToEntityAttribute(EMAILS[i % EMAILS.length]).getPrimitive().length()
+            + telephoneNumberConverter.convertToEntityAttribute(TELEPHONES[i % TELEPHONES.length]).getPrimitive().length());
+    Result petRow = Microbenchmark.measure(WARMUP_ROWS, MEASURED_ROWS,
+        i -> petIdConverter.convertToEntityAttribute(PET_IDENTIFIERS[i % PET_IDENTIFIERS.length]).getPrimitive().length());
+
+    log.info("Owner row (email, telephone): {}", ownerRow);
+    log.info("Pet row (identifier): {}", petRow);
+
+    assertEquals(EMAILS[0], emailConverter.convertToEntityAttribute(EMAILS[0]).getPrimitive());
+    assertEquals(TELEPHONES[0], telephoneNumberConverter.convertToEntityAttribute(TELEPHONES[0]).getPrimitive());
+    assertEquals(PET_IDENTIFIERS[0], petIdConverter.convertToEntityAttribute(PET_IDENTIFIERS[0]).getPrimitive());
+  }
+}
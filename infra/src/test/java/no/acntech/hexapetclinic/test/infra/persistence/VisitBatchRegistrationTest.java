@@ -0,0 +1,67 @@
+package no.acntech.hexapetclinic.test.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.acntech.hexapetclinic.infra.Application;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Verifies that visits registered through the batch endpoint are inserted in JDBC batches, and that each pet is looked up only once.
+ */
+@SpringBootTest(
+    classes = Application.class,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("local-h2")
+class VisitBatchRegistrationTest {
+
+  private static final String[] PET_IDENTIFIERS = {"2020061511234568", "2018092212345670", "2019111013456781"};
+
+  private static final int VISITS = 500;
+  private static final int JDBC_BATCH_SIZE = 50;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void createVisits_shouldInsertInJdbcBatches() throws Exception {
+    String body = IntStream.range(0, VISITS)
+        .mapToObj(i -> """
+            {"petIdentifier": "%s", "time": "2024-01-01T10:00:00Z", "description": "Synced visit %d"}"""
+            .formatted(PET_IDENTIFIERS[i % PET_IDENTIFIERS.length], i))
+        .collect(Collectors.joining(",", "[", "]"));
+
+    entityManagerFactory.getCache().evictAll(); // Count the loads of cold pets, not of second-level cache hits
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    mockMvc.perform(post("/visits/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.data.length()").value(VISITS));
+
+    assertEquals(VISITS, statistics.getEntityInsertCount(), "All visits should be inserted");
+    assertEquals(PET_IDENTIFIERS.length, statistics.getEntityLoadCount(), "Each pet should be loaded only once");
+    // One pet lookup per distinct pet, one sequence call and one batch per block of visits
+    long maxStatements = PET_IDENTIFIERS.length + 2L * (VISITS / JDBC_BATCH_SIZE + 1);
+    assertTrue(statistics.getPrepareStatementCount() <= maxStatements,
+        "Visits should be inserted in JDBC batches, but " + statistics.getPrepareStatementCount() + " statements were prepared");
+  }
+}
@@ -0,0 +1,164 @@
+package no.acntech.hexapetclinic.test.infra.service;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import no.acntech.hexapetclinic.app.event.PetRegisteredEventListener;
+import no.acntech.hexapetclinic.domain.connector.AsyncPetDescriptionEnhancer;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.model.DescriptionStatus;
+import no.acntech.hexapetclinic.domain.model.Pet;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
+import no.acntech.hexapetclinic.domain.repository.PetRepository;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.test.infra.RegistrationFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Verifies that pet registration returns before the description is enhanced, and that the enhanced description is stored afterward,
+ * also when the pet is changed while its description is being enhanced. A failed enhancement keeps the original description, and
+ * enhancements still pending when the application starts are resumed.
+ */
+@SpringBootTest(classes = Application.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local-h2")
+class AsyncPetDescriptionEnhancementTest {
+
+  private static final String ENHANCED_DESCRIPTION = "A cheerful and curious companion with a love for long walks.";
+
+  private static final String PET_CREATION_BODY = """
+      {
+        "name": "Pixel",
+        "type": "DOG",
+        "breed": "Beagle",
+        "gender": "FEMALE",
+        "birthDate": "2022-03-14",
+        "description": "Likes walks.",
+        "ownerId": 1
+      }""";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private PetRepository petRepository;
+
+  @Autowired
+  private OwnerRepository ownerRepository;
+
+  @Autowired
+  private PetIdentifierAllocator petIdentifierAllocator;
+
+  @Autowired
+  private PetRegisteredEventListener petRegisteredEventListener;
+
+  @MockitoBean
+  private AsyncPetDescriptionEnhancer petDescriptionEnhancer;
+
+  @Test
+  void createPet_shouldRespondBeforeDescriptionIsEnhanced() throws Exception {
+    CompletableFuture<String> enhancement = new CompletableFuture<>();
+    when(petDescriptionEnhancer.enhanceDescriptionAsync(any(), anyString(), anyString())).thenReturn(enhancement);
+
+    String response = mockMvc.perform(post("/pets").contentType(MediaType.APPLICATION_JSON).content(PET_CREATION_BODY))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.data.description").value("Likes walks."))
+        .andExpect(jsonPath("$.data.descriptionStatus").value("PENDING"))
+        .andReturn().getResponse().getContentAsString();
+    JsonNode pet = objectMapper.readTree(response).path("data");
+
+    enhancement.complete(ENHANCED_DESCRIPTION);
+
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+        mockMvc.perform(get("/pets/{id}", pet.path("id").asLong()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.description").value(ENHANCED_DESCRIPTION))
+            .andExpect(jsonPath("$.data.descriptionStatus").value("ENHANCED")));
+  }
+
+  @Test
+  void createPet_shouldEnhanceDescriptionOfPetChangedWhileEnhancing() throws Exception {
+    CompletableFuture<String> enhancement = new CompletableFuture<>();
+    when(petDescriptionEnhancer.enhanceDescriptionAsync(any(), anyString(), anyString())).thenReturn(enhancement);
+    when(petDescriptionEnhancer.enhanceDescription(any(), anyString(), anyString())).thenReturn(ENHANCED_DESCRIPTION);
+
+    String response = mockMvc.perform(post("/pets").contentType(MediaType.APPLICATION_JSON).content(PET_CREATION_BODY))
+        .andExpect(status().isCreated())
+        .andReturn().getResponse().getContentAsString();
+    long petId = objectMapper.readTree(response).path("data").path("id").asLong();
+
+    // Change the pet once its enhancement has started, so that writing the enhancement conflicts with the change
+    verify(petDescriptionEnhancer, timeout(10_000)).enhanceDescriptionAsync(any(), anyString(), anyString());
+    Pet pet = petRepository.findByIdOrElseThrow(petId);
+    pet.changeName("Pixie");
+    petRepository.save(pet);
+    enhancement.complete(ENHANCED_DESCRIPTION);
+
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+        mockMvc.perform(get("/pets/{id}", petId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.name").value("Pixie"))
+            .andExpect(jsonPath("$.data.description").value(ENHANCED_DESCRIPTION))
+            .andExpect(jsonPath("$.data.descriptionStatus").value("ENHANCED")));
+  }
+
+  @Test
+  void createPet_shouldKeepOriginalDescriptionWhenEnhancementFails() throws Exception {
+    CompletableFuture<String> enhancement = new CompletableFuture<>();
+    when(petDescriptionEnhancer.enhanceDescriptionAsync(any(), anyString(), anyString())).thenReturn(enhancement);
+
+    String response = mockMvc.perform(post("/pets").contentType(MediaType.APPLICATION_JSON).content(PET_CREATION_BODY))
+        .andExpect(status().isCreated())
+        .andReturn().getResponse().getContentAsString();
+    long petId = objectMapper.readTree(response).path("data").path("id").asLong();
+
+    enhancement.completeExceptionally(new IllegalStateException("Enhancer unavailable"));
+
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+        mockMvc.perform(get("/pets/{id}", petId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.description").value("Likes walks."))
+            .andExpect(jsonPath("$.data.descriptionStatus").value("ORIGINAL")));
+  }
+
+  @Test
+  void onApplicationReady_shouldResumePendingEnhancements() {
+    when(petDescriptionEnhancer.enhanceDescription(any(), anyString(), any())).thenReturn(ENHANCED_DESCRIPTION);
+    // Left pending, as if the application had stopped before enhancing it
+    PetIdentifier identifier = RegistrationFixtures.registerPet(ownerRepository, petIdentifierAllocator, "Pending");
+    Pet pet = petRepository.findByIdentifier(identifier);
+    pet.changeDescriptionStatus(DescriptionStatus.PENDING);
+    petRepository.save(pet);
+
+    petRegisteredEventListener.onApplicationReady();
+
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+        mockMvc.perform(get("/pets/{id}", pet.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.description").value(ENHANCED_DESCRIPTION))
+            .andExpect(jsonPath("$.data.descriptionStatus").value("ENHANCED")));
+  }
+}
@@ -0,0 +1,130 @@
+package no.acntech.hexapetclinic.test.infra.service;
+
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.model.Visit;
+import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
+import no.acntech.hexapetclinic.domain.repository.PetRepository;
+import no.acntech.hexapetclinic.domain.service.RegistrationService;
+import no.acntech.hexapetclinic.domain.service.RegistrationService.VisitRegistration;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.controller.ResponseDto;
+import no.acntech.hexapetclinic.test.infra.RegistrationFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Verifies that owners, pets and visits are listed in id order, a page at a time after the {@code after} cursor, with the cursor of the
+ * next page given only for a full page. A non-positive limit is answered with {@code 400 Bad Request}.
+ * <p>
+ * Each test registers three entities of its own, with consecutive ids, and pages through them starting just before the first.
+ */
+@SpringBootTest(classes = Application.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local-h2")
+class KeysetPaginationTest {
+
+  private static final Instant VISIT_TIME = Instant.parse("2024-01-15T10:00:00Z");
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private OwnerRepository ownerRepository;
+
+  @Autowired
+  private PetRepository petRepository;
+
+  @Autowired
+  private RegistrationService registrationService;
+
+  @Autowired
+  private PetIdentifierAllocator petIdentifierAllocator;
+
+  @Test
+  void getAllOwners_shouldPageAfterCursor() throws Exception {
+    List<Long> ids = Stream.generate(() -> RegistrationFixtures.registerOwner(ownerRepository).getId())
+        .limit(3)
+        .toList();
+
+    assertPaging("/owners", ids);
+  }
+
+  @Test
+  void getAllPets_shouldPageAfterCursor() throws Exception {
+    List<Long> ids = Stream.of("First", "Second", "Third")
+        .map(name -> petRepository.findByIdentifier(registerPet(name)).getId())
+        .toList();
+
+    assertPaging("/pets", ids);
+  }
+
+  @Test
+  void getAllVisits_shouldPageAfterCursor() throws Exception {
+    String identifier = registerPet("Pixel").getPrimitive();
+    List<Long> ids = registrationService.registerVisits(List.of(
+            new VisitRegistration(identifier, VISIT_TIME, "Check-up"),
+            new VisitRegistration(identifier, VISIT_TIME, "Dental cleaning"),
+            new VisitRegistration(identifier, VISIT_TIME, "Vaccination")))
+        .stream()
+        .map(Visit::getId)
+        .sorted()
+        .toList();
+
+    assertPaging("/visits", ids);
+  }
+
+  private void assertPaging(String path, List<Long> ids) throws Exception {
+    long first = ids.get(0);
+    long second = ids.get(1);
+    long third = ids.get(2);
+
+    String firstPage = mockMvc.perform(get(path).param("after", String.valueOf(first - 1)).param("limit", "2"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    assertEquals(List.of(first, second), longs(firstPage, "$.data[*].id"));
+    assertEquals(List.of(second), longs(firstPage, "$.meta." + ResponseDto.NEXT_CURSOR_KEY));
+
+    String secondPage = mockMvc.perform(get(path).param("after", String.valueOf(second)).param("limit", "1"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    assertEquals(List.of(third), longs(secondPage, "$.data[*].id"));
+    assertEquals(List.of(third), longs(secondPage, "$.meta." + ResponseDto.NEXT_CURSOR_KEY));
+
+    // A page that is not full is the last one
+    mockMvc.perform(get(path).param("after", String.valueOf(Long.MAX_VALUE)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data").value(empty()))
+        .andExpect(jsonPath("$.meta." + ResponseDto.NEXT_CURSOR_KEY).doesNotExist());
+
+    mockMvc.perform(get(path).param("limit", "0"))
+        .andExpect(status().isBadRequest());
+  }
+
+  // JSON numbers are read back as the smallest type holding them, so widen them all to long before comparing
+  private static List<Long> longs(String json, String path) {
+    Object value = JsonPath.read(json, path);
+    List<?> values = value instanceof List<?> list ? list : List.of(value);
+    return values.stream()
+        .map(number -> ((Number) number).longValue())
+        .toList();
+  }
+
+  private PetIdentifier registerPet(String name) {
+    return RegistrationFixtures.registerPet(ownerRepository, petIdentifierAllocator, name);
+  }
+}
@@ -0,0 +1,60 @@
+package no.acntech.hexapetclinic.test.infra.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.metrics.MethodTimingAspect;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifies that calls to the repository adapters are timed per method and outcome, and that the timer is exposed with its histogram
+ * through the Prometheus endpoint of the actuator.
+ */
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("local-h2")
+@AutoConfigureObservability(tracing = false) // Metrics are not exported in tests otherwise
+class MethodTimingTest {
+
+  private static final long UNKNOWN_OWNER_ID = 999_999L;
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void findOwnerById_shouldBeTimedByOutcomeAndExposedToPrometheus() {
+    assertEquals(HttpStatus.OK, restTemplate.getForEntity("/owners/{id}", String.class, 1).getStatusCode());
+    assertTrue(restTemplate.getForEntity("/owners/{id}", String.class, UNKNOWN_OWNER_ID).getStatusCode().isError());
+
+    assertTimed(MethodTimingAspect.REPOSITORY_TIMER, "OwnerRepositoryAdapter", "findByIdOrElseThrow", MethodTimingAspect.SUCCESS);
+    assertTimed(MethodTimingAspect.REPOSITORY_TIMER, "OwnerRepositoryAdapter", "findByIdOrElseThrow", MethodTimingAspect.ERROR);
+
+    ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+    assertEquals(HttpStatus.OK, scrape.getStatusCode());
+    String metrics = scrape.getBody();
+    assertNotNull(metrics);
+    assertTrue(metrics.contains("repository_calls_seconds_bucket{class=\"OwnerRepositoryAdapter\""),
+        "Repository timer should be exposed with its histogram");
+  }
+
+  private void assertTimed(String timerName, String className, String method, String outcome) {
+    Timer timer = meterRegistry.find(timerName)
+        .tags(MethodTimingAspect.CLASS_TAG, className, MethodTimingAspect.METHOD_TAG, method, MethodTimingAspect.OUTCOME_TAG, outcome)
+        .timer();
+    assertNotNull(timer, "Calls to " + className + "." + method + " with outcome " + outcome + " should be timed");
+    assertTrue(timer.count() > 0);
+  }
+}
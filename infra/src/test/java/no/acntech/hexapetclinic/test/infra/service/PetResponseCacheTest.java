@@ -0,0 +1,89 @@
+package no.acntech.hexapetclinic.test.infra.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletException;
+import no.acntech.hexapetclinic.app.service.PetResponseCache;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.model.Pet;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.repository.EntityNotFoundException;
+import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
+import no.acntech.hexapetclinic.domain.repository.PetRepository;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.controller.SerializedResponseCache;
+import no.acntech.hexapetclinic.test.infra.RegistrationFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Verifies that pets looked up by identifier are served from the {@link PetResponseCache}, that saving or deleting a pet through the
+ * repository evicts it, and that the pets are not cached again as serialized responses.
+ */
+@SpringBootTest(classes = Application.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local-h2")
+class PetResponseCacheTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private OwnerRepository ownerRepository;
+
+  @Autowired
+  private PetRepository petRepository;
+
+  @Autowired
+  private PetIdentifierAllocator petIdentifierAllocator;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void getPetByIdentifier_shouldBeCachedUntilThePetIsSavedOrDeleted() throws Exception {
+    PetIdentifier identifier = RegistrationFixtures.registerPet(ownerRepository, petIdentifierAllocator, "Luna");
+
+    double serializedResponsesBefore = serializedResponses();
+    getPet(identifier).andExpect(jsonPath("$.data.name").value("Luna"));
+    double hitsBefore = hits();
+    getPet(identifier).andExpect(jsonPath("$.data.name").value("Luna"));
+    assertEquals(hitsBefore + 1, hits(), "Second lookup should be served from the cache");
+    assertEquals(serializedResponsesBefore, serializedResponses(), "Pet should not be cached again as a serialized response");
+
+    Pet pet = petRepository.findByIdentifier(identifier);
+    pet.changeName("Nova");
+    petRepository.save(pet);
+
+    getPet(identifier).andExpect(jsonPath("$.data.name").value("Nova"));
+
+    petRepository.deleteById(pet.getId());
+
+    ServletException exception = assertThrows(ServletException.class, () -> getPet(identifier));
+    assertInstanceOf(EntityNotFoundException.class, exception.getCause(), "Deleted pet should not be served from the cache");
+  }
+
+  private ResultActions getPet(PetIdentifier identifier) throws Exception {
+    return mockMvc.perform(get("/pets/identifier/{identifier}", identifier.getPrimitive()))
+        .andExpect(status().isOk());
+  }
+
+  private double hits() {
+    return meterRegistry.get(PetResponseCache.LOOKUP_TIMER).tag("result", "hit").timer().count();
+  }
+
+  private double serializedResponses() {
+    return meterRegistry.get("cache.size").tag("cache", SerializedResponseCache.CACHE_NAME).gauge().value();
+  }
+}
@@ -0,0 +1,131 @@
+package no.acntech.hexapetclinic.test.infra.service;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import java.time.Instant;
+import java.util.List;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
+import no.acntech.hexapetclinic.domain.service.RegistrationService;
+import no.acntech.hexapetclinic.domain.service.RegistrationService.VisitRegistration;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.controller.ResponseDto;
+import no.acntech.hexapetclinic.infra.controller.ResponseMeta;
+import no.acntech.hexapetclinic.test.infra.RegistrationFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Verifies that the visit history of a pet is filtered by time range, returned in time order and paged through with a keyset cursor.
+ * An empty time range, a non-positive limit or a cursor that is not a visit of the pet is answered with {@code 400 Bad Request}.
+ */
+@SpringBootTest(classes = Application.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local-h2")
+class PetVisitHistoryTest {
+
+  private static final Instant JANUARY = Instant.parse("2024-01-15T10:00:00Z");
+  private static final Instant FEBRUARY = Instant.parse("2024-02-15T10:00:00Z");
+  private static final Instant MARCH = Instant.parse("2024-03-15T10:00:00Z");
+  private static final Instant APRIL = Instant.parse("2024-04-15T10:00:00Z");
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private OwnerRepository ownerRepository;
+
+  @Autowired
+  private RegistrationService registrationService;
+
+  @Autowired
+  private PetIdentifierAllocator petIdentifierAllocator;
+
+  @Test
+  void getPetVisits_shouldReturnVisitsWithinRangeInTimeOrderPageByPage() throws Exception {
+    String identifier = registerPet().getPrimitive();
+    // Registered out of time order, with two visits at the same time
+    registrationService.registerVisits(List.of(
+        new VisitRegistration(identifier, APRIL, "Vaccination"),
+        new VisitRegistration(identifier, FEBRUARY, "Dental cleaning"),
+        new VisitRegistration(identifier, JANUARY, "Check-up"),
+        new VisitRegistration(identifier, MARCH, "Follow-up"),
+        new VisitRegistration(identifier, FEBRUARY, "Nail trim")));
+    String path = "/pets/identifier/" + identifier + "/visits";
+
+    String firstPage = mockMvc.perform(get(path)
+            .param("from", FEBRUARY.toString())
+            .param("to", APRIL.toString())
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data[*].description").value(contains("Dental cleaning", "Nail trim")))
+        .andExpect(jsonPath("$.data[*].petIdentifier").value(contains(identifier, identifier)))
+        .andReturn().getResponse().getContentAsString();
+    Number cursor = JsonPath.read(firstPage, "$.meta." + ResponseDto.NEXT_CURSOR_KEY);
+
+    mockMvc.perform(get(path)
+            .param("from", FEBRUARY.toString())
+            .param("to", APRIL.toString())
+            .param("limit", "2")
+            .param("after", cursor.toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data[*].description").value(contains("Follow-up")))
+        .andExpect(jsonPath("$.meta." + ResponseDto.NEXT_CURSOR_KEY).doesNotExist());
+
+    mockMvc.perform(get(path))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data[*].description")
+            .value(contains("Check-up", "Dental cleaning", "Nail trim", "Follow-up", "Vaccination")));
+  }
+
+  @Test
+  void getPetVisits_shouldReturnNoVisitsForPetWithoutVisits() throws Exception {
+    mockMvc.perform(get("/pets/identifier/" + registerPet().getPrimitive() + "/visits"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data").value(empty()));
+  }
+
+  @Test
+  void getPetVisits_shouldRejectIllegalArgumentsWithBadRequest() throws Exception {
+    String identifier = registerPet().getPrimitive();
+    String otherIdentifier = registerPet().getPrimitive();
+    registrationService.registerVisits(List.of(
+        new VisitRegistration(identifier, JANUARY, "Check-up"),
+        new VisitRegistration(otherIdentifier, JANUARY, "Check-up")));
+    String path = "/pets/identifier/" + identifier + "/visits";
+    String otherPath = "/pets/identifier/" + otherIdentifier + "/visits";
+
+    mockMvc.perform(get(path).param("from", MARCH.toString()).param("to", FEBRUARY.toString()))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.meta." + ResponseMeta.ERROR_KEY).exists());
+    mockMvc.perform(get(path).param("limit", "0"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get(path).param("after", String.valueOf(Long.MAX_VALUE)))
+        .andExpect(status().isBadRequest());
+
+    // The cursor of the last full page of one pet is valid for that pet only
+    String page = mockMvc.perform(get(otherPath).param("limit", "1"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    Number cursor = JsonPath.read(page, "$.meta." + ResponseDto.NEXT_CURSOR_KEY);
+    mockMvc.perform(get(otherPath).param("limit", "1").param("after", cursor.toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data").value(empty()));
+    mockMvc.perform(get(path).param("after", cursor.toString()))
+        .andExpect(status().isBadRequest());
+  }
+
+  private PetIdentifier registerPet() {
+    return RegistrationFixtures.registerPet(ownerRepository, petIdentifierAllocator, "Pixel");
+  }
+}
@@ -0,0 +1,74 @@
+package no.acntech.hexapetclinic.test.infra.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.controller.ResponseMeta;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifies that responses to a running server carry their processing time, and that the requests are recorded in the latency
+ * histogram of their endpoint, which is exposed with its buckets through the Prometheus endpoint of the actuator.
+ */
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("local-h2")
+@AutoConfigureObservability(tracing = false) // Metrics are not exported in tests otherwise
+class RequestLatencyTest {
+
+  private static final String REQUESTS_TIMER = "http.server.requests";
+  private static final String PET_IDENTIFIER = "2020061511234568";
+  private static final String PET_URI_PATTERN = "/pets/identifier/{identifier}";
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void getPetByIdentifier_shouldRecordRequestInHistogramOfEndpoint() throws Exception {
+    ResponseEntity<JsonNode> response = restTemplate.getForEntity(PET_URI_PATTERN, JsonNode.class, PET_IDENTIFIER);
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    JsonNode processingTime = response.getBody().path("meta").path(ResponseMeta.PROCESSING_TIME_KEY);
+    assertTrue(processingTime.isTextual(), "Response should carry the processing time");
+
+    Timer timer = awaitTimer();
+    assertTrue(timer.count() > 0);
+
+    ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+    assertEquals(HttpStatus.OK, scrape.getStatusCode());
+    String metrics = scrape.getBody();
+    assertNotNull(metrics);
+    assertTrue(metrics.lines().anyMatch(line -> line.startsWith("http_server_requests_seconds_bucket{")
+            && line.contains("uri=\"" + PET_URI_PATTERN + "\"")),
+        "Latency histogram of the endpoint should be exposed with its buckets");
+  }
+
+  private Timer awaitTimer() throws InterruptedException {
+    // The request is recorded when the container completes it, which may be just after the client has read the response
+    for (int i = 0; i < 100; i++) {
+      Timer timer = meterRegistry.find(REQUESTS_TIMER)
+          .tags("method", "GET", "uri", PET_URI_PATTERN)
+          .timer();
+      if (timer != null && timer.count() > 0) {
+        return timer;
+      }
+      Thread.sleep(50);
+    }
+    Timer timer = meterRegistry.find(REQUESTS_TIMER).tags("uri", PET_URI_PATTERN).timer();
+    assertNotNull(timer, "Request should be recorded");
+    return timer;
+  }
+}
@@ -0,0 +1,130 @@
+package no.acntech.hexapetclinic.test.infra.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.config.web.ServletAttributeNames;
+import no.acntech.hexapetclinic.infra.controller.ResponseDto;
+import no.acntech.hexapetclinic.infra.controller.ResponseMeta;
+import no.acntech.hexapetclinic.test.domain.Microbenchmark;
+import no.acntech.hexapetclinic.test.domain.Microbenchmark.Result;
+import no.acntech.hexapetclinic.utils.time.TimeFormatUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Benchmark of the response envelope, comparing the fixed-shape {@link ResponseMeta} with the map of metadata it replaced, and of the
+ * full GET path of a pet served from the serialized response cache.
+ * <p>
+ * Reports the time and the bytes allocated per response, measured by {@link Microbenchmark}; MockMvc runs the request on the calling
+ * thread. The numbers vary between machines and JVMs and are only logged, except that the fixed-shape envelope must
+ * allocate less than the map. Tagged {@code benchmark}, so it is left out of the default build.
+ */
+@SpringBootTest(classes = Application.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local-h2")
+@Slf4j
+@Tag("benchmark")
+class ResponseEnvelopeBenchmarkTest {
+
+  private static final int WARMUP_RESPONSES = 50_000;
+  private static final int MEASURED_RESPONSES = 200_000;
+  private static final int WARMUP_REQUESTS = 2_000;
+  private static final int MEASURED_REQUESTS = 10_000;
+
+  private static final String PET_IDENTIFIER = "2020061511234568";
+  private static final RawValue PET_JSON = new RawValue("""
+      {"id":1,"version":0,"name":"Buddy","identifier":"2020061511234568","type":"DOG","breed":"Golden Retriever",\
+      "gender":"MALE","birthDate":"2020-06-15","description":"Very playful","descriptionStatus":"ORIGINAL","ownerId":1}""");
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Test
+  void benchmarkEnvelope() throws Exception {
+    Instant requestTimestamp = Instant.now();
+    long requestStartNanos = System.nanoTime();
+
+    Result map = Microbenchmark.measure(WARMUP_RESPONSES, MEASURED_RESPONSES, i -> {
+      MapEnvelope envelope = new MapEnvelope(PET_JSON);
+      // What the body advice used to add
+      long durationMillis = Instant.now().toEpochMilli() - requestTimestamp.toEpochMilli();
+      envelope.getMeta().put("processing_time",
+          TimeFormatUtils.formatDurationAsSecondsAndMillis(Duration.of(durationMillis, ChronoUnit.MILLIS)));
+      envelope.getMeta().put("http_status", HttpStatus.valueOf(200).name());
+      objectMapper.writeValue(OutputStream.nullOutputStream(), envelope);
+      return 0;
+    });
+    Result fixed = Microbenchmark.measure(WARMUP_RESPONSES, MEASURED_RESPONSES, i -> {
+      ResponseDto<RawValue> envelope = new ResponseDto<>(PET_JSON);
+      envelope.getMeta().setTimestamp(requestTimestamp);
+      envelope.getMeta().setProcessingTimeNanos(System.nanoTime() - requestStartNanos);
+      envelope.getMeta().setHttpStatus(200);
+      objectMapper.writeValue(OutputStream.nullOutputStream(), envelope);
+      return 0;
+    });
+
+    log.info("Envelope with a map of metadata: {}", map);
+    log.info("Envelope with fixed-shape metadata: {}", fixed);
+
+    assertTrue(fixed.bytesPerOperation() < map.bytesPerOperation(),
+        "Fixed-shape metadata should allocate less than a map, but allocated " + fixed + " versus " + map);
+  }
+
+  @Test
+  void benchmarkGetPetByIdentifier() throws Exception {
+    Result request = Microbenchmark.measure(WARMUP_REQUESTS, MEASURED_REQUESTS, i -> {
+      int status = mockMvc.perform(get("/pets/identifier/{identifier}", PET_IDENTIFIER)
+              // Normally recorded by the request listener
+              .requestAttr(ServletAttributeNames.REQUEST_TIMESTAMP, Instant.now())
+              .requestAttr(ServletAttributeNames.REQUEST_START_NANOS, System.nanoTime()))
+          .andReturn().getResponse().getStatus();
+      assertEquals(200, status);
+      return status;
+    });
+
+    log.info("GET /pets/identifier/{}: {}", PET_IDENTIFIER, request);
+  }
+
+  /**
+   * The envelope as it was before {@link ResponseMeta}: a map of metadata allocated per response, timestamped on construction.
+   */
+  private static class MapEnvelope {
+
+    private final RawValue data;
+    private final Map<String, Object> meta = new HashMap<>();
+
+    MapEnvelope(RawValue data) {
+      this.data = data;
+      this.meta.put(ResponseMeta.TIMESTAMP_KEY, Instant.now());
+    }
+
+    public RawValue getData() {
+      return data;
+    }
+
+    public Map<String, Object> getMeta() {
+      return meta;
+    }
+  }
+}
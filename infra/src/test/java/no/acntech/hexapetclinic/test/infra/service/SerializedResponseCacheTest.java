@@ -0,0 +1,123 @@
+package no.acntech.hexapetclinic.test.infra.service;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.servlet.ServletException;
+import java.util.List;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.model.Owner;
+import no.acntech.hexapetclinic.domain.model.Pet;
+import no.acntech.hexapetclinic.domain.model.PetIdentifier;
+import no.acntech.hexapetclinic.domain.repository.EntityNotFoundException;
+import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
+import no.acntech.hexapetclinic.domain.repository.PetRepository;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.infra.controller.SerializedResponseCache;
+import no.acntech.hexapetclinic.test.infra.RegistrationFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Verifies that single-entity responses served from the {@link SerializedResponseCache} carry an ETag, that conditional requests
+ * matching it are answered with {@code 304 Not Modified}, and that saving or deleting an entity evicts the responses depending on it.
+ */
+@SpringBootTest(classes = Application.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local-h2")
+class SerializedResponseCacheTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private OwnerRepository ownerRepository;
+
+  @Autowired
+  private PetRepository petRepository;
+
+  @Autowired
+  private PetIdentifierAllocator petIdentifierAllocator;
+
+  @Test
+  void getPetByIdentifier_shouldAnswerConditionalRequestsUntilThePetIsSavedOrDeleted() throws Exception {
+    PetIdentifier identifier = RegistrationFixtures.registerPet(ownerRepository, petIdentifierAllocator, "Milo");
+    String path = "/pets/identifier/" + identifier.getPrimitive();
+
+    String eTag = mockMvc.perform(get(path))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.name").value("Milo"))
+        .andExpect(jsonPath("$.meta.timestamp").exists())
+        .andExpect(jsonPath("$.meta.http_status").value("OK"))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotNull(eTag, "Response should carry an ETag");
+
+    mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag))
+        .andExpect(content().string(""));
+
+    Pet pet = petRepository.findByIdentifier(identifier);
+    pet.changeName("Otis");
+    petRepository.save(pet);
+
+    String changedETag = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.name").value("Otis"))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotEquals(eTag, changedETag, "Saving the pet should change the ETag");
+
+    petRepository.deleteById(pet.getId());
+
+    ServletException exception = assertThrows(ServletException.class, () -> mockMvc.perform(get(path)));
+    assertInstanceOf(EntityNotFoundException.class, exception.getCause(), "Deleted pet should not be served from the cache");
+  }
+
+  @Test
+  void getOwnerById_shouldChangeETagWhenTheOwnerIsSaved() throws Exception {
+    Owner owner = RegistrationFixtures.registerOwner(ownerRepository);
+    String path = "/owners/" + owner.getId();
+
+    String eTag = mockMvc.perform(get(path))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified());
+
+    owner.changeCity("Bergen");
+    ownerRepository.save(owner);
+
+    mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.city").value("Bergen"));
+  }
+
+  @Test
+  void getOwnerById_shouldChangeETagWhenTheOwnerIsSavedInBatch() throws Exception {
+    Owner owner = RegistrationFixtures.registerOwner(ownerRepository);
+    String path = "/owners/" + owner.getId();
+
+    String eTag = mockMvc.perform(get(path))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    owner.changeCity("Stavanger");
+    ownerRepository.saveAll(List.of(owner));
+
+    mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.city").value("Stavanger"));
+  }
+}
@@ -0,0 +1,275 @@
+package no.acntech.hexapetclinic.test.infra.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import no.acntech.hexapetclinic.app.dto.DataTransferObjects.PetCreationDto;
+import no.acntech.hexapetclinic.app.service.AppService;
+import no.acntech.hexapetclinic.domain.model.PetType;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.test.infra.adapter.StubPetDescriptionEnhancer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Load-test scenario comparing pet registration on platform threads with registration on virtual threads.
+ * <p>
+ * The application is started twice on a random port, once per thread mode, with the description enhancer replaced by a local stub
+ * taking {@value #ENHANCEMENT_MILLIS} ms per description. Concurrent clients, each with an owner of their own, register pets through
+ * {@value #BLOCKING_REGISTRATION_PATH}, which enhances the description on the request thread before registering the pet, so every
+ * request blocks for the latency of the enhancer. The scenario reports the p50 and p99 latency of the registrations and the maximum
+ * number of requests in flight in the servlet container at the same time. The Tomcat thread pool is kept small, so that it caps the
+ * requests in flight on platform threads, whereas on virtual threads a blocked request does not hold on to a pooled thread.
+ * <p>
+ * Latencies depend on the machine, so they are logged rather than asserted. The scenario is tagged {@value #BENCHMARK_TAG} and
+ * excluded from the default build; run it on its own to compare the modes:
+ * {@code mvn test -DskipTests=false -DexcludedGroups= -Dtest=VirtualThreadLoadBenchmarkTest}.
+ */
+@Slf4j
+@Tag(VirtualThreadLoadBenchmarkTest.BENCHMARK_TAG)
+class VirtualThreadLoadBenchmarkTest {
+
+  static final String BENCHMARK_TAG = "benchmark";
+
+  private static final String BLOCKING_REGISTRATION_PATH = "/load/pets";
+  private static final int ENHANCEMENT_MILLIS = 200;
+  private static final int TOMCAT_THREADS = 50;
+  private static final int CLIENTS = 200;
+  private static final int REQUESTS_PER_CLIENT = 5;
+
+  private static final String OWNER_CREATION_BODY = """
+      {
+        "firstName": "Load",
+        "lastName": "Tester",
+        "address": "Storgata %1$d",
+        "city": "Oslo",
+        "telephone": "+479%1$07d",
+        "email": "load.tester.%1$d@example.com"
+      }""";
+
+  private static final String PET_CREATION_BODY = """
+      {
+        "name": "Load",
+        "type": "DOG",
+        "breed": "Beagle",
+        "gender": "MALE",
+        "birthDate": "2021-06-01",
+        "description": "Registered under load.",
+        "ownerId": %d
+      }""";
+
+  @Test
+  void createPet_platformThreadsVersusVirtualThreads() throws Exception {
+    LoadResult platform = run(false);
+    LoadResult virtual = run(true);
+
+    log.info("Pet registration with a {} ms enhancer, {} clients x {} requests, {} Tomcat threads:",
+        ENHANCEMENT_MILLIS, CLIENTS, REQUESTS_PER_CLIENT, TOMCAT_THREADS);
+    log.info("  platform threads: {}", platform);
+    log.info("  virtual threads:  {}", virtual);
+
+    assertEquals(0, platform.failures(), "All registrations on platform threads should succeed");
+    assertEquals(0, virtual.failures(), "All registrations on virtual threads should succeed");
+    assertTrue(platform.maxInFlight() <= TOMCAT_THREADS, "Requests in flight on platform threads are capped by the Tomcat pool");
+    assertTrue(virtual.maxInFlight() > TOMCAT_THREADS, "Requests in flight on virtual threads are not capped by the Tomcat pool");
+  }
+
+  private LoadResult run(boolean virtualThreads) throws Exception {
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class, LoadScenarioConfig.class)
+        .profiles("local-h2")
+        .run( // Command-line arguments, since they take precedence over application.yml
+            "--server.port=0",
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+            "--application.datasource.name=loaddb" + (virtualThreads ? "virtual" : "platform"),
+            // Statement and binding logging of the local-h2 profile would dominate the latencies
+            "--logging.level.no.acntech=INFO",
+            "--logging.level.org.hibernate=INFO",
+            "--logging.level.org.hibernate.SQL=INFO",
+            "--logging.level.org.hibernate.orm.jdbc.bind=INFO",
+            "--logging.level.org.hibernate.stat=INFO")) {
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      InFlightRequestCounter counter = context.getBean(InFlightRequestCounter.class);
+      StubPetDescriptionEnhancer enhancer = context.getBean(StubPetDescriptionEnhancer.class);
+
+      enhancer.setLatency(Duration.ofMillis(ENHANCEMENT_MILLIS));
+      register(port, createOwner(port, 0)); // Warm up
+      counter.reset();
+      LoadResult result = load(port);
+
+      enhancer.setLatency(Duration.ZERO); // Lets the pending enhancements finish quickly on shutdown
+      return new LoadResult(result.p50Millis(), result.p99Millis(), counter.max(), result.failures());
+    }
+  }
+
+  private LoadResult load(int port) throws Exception {
+    List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger failures = new AtomicInteger();
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 1; i <= CLIENTS; i++) {
+        int client = i;
+        futures.add(clients.submit(() -> {
+          long ownerId = createOwner(port, client);
+          for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+            long start = System.nanoTime();
+            int status = register(port, ownerId);
+            latencies.add(System.nanoTime() - start);
+            if (status != 201) {
+              failures.incrementAndGet();
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    List<Long> sorted = latencies.stream().sorted().toList();
+    return new LoadResult(percentileMillis(sorted, 50), percentileMillis(sorted, 99), 0, failures.get());
+  }
+
+  private static long createOwner(int port, int client) throws IOException, InterruptedException {
+    HttpResponse<Void> response = post(port, "/owners", OWNER_CREATION_BODY.formatted(client));
+    String location = response.headers().firstValue(HttpHeaders.LOCATION).orElseThrow();
+    return Long.parseLong(location.substring(location.lastIndexOf('/') + 1));
+  }
+
+  private static int register(int port, long ownerId) throws IOException, InterruptedException {
+    return post(port, BLOCKING_REGISTRATION_PATH, PET_CREATION_BODY.formatted(ownerId)).statusCode();
+  }
+
+  private static HttpResponse<Void> post(int port, String path, String body) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+    return HttpClientHolder.CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+  }
+
+  private static double percentileMillis(List<Long> sortedNanos, int percentile) {
+    int index = Math.max(0, (int) Math.ceil(percentile / 100.0 * sortedNanos.size()) - 1);
+    return sortedNanos.get(index) / 1_000_000.0;
+  }
+
+  private record LoadResult(double p50Millis, double p99Millis, int maxInFlight, int failures) {
+
+    @Override
+    public String toString() {
+      return String.format("p50 %.1f ms, p99 %.1f ms, max %d requests in flight, %d failures", p50Millis, p99Millis, maxInFlight,
+          failures);
+    }
+  }
+
+  private static final class HttpClientHolder {
+
+    static final HttpClient CLIENT = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+  }
+
+  @Configuration
+  static class LoadScenarioConfig {
+
+    @Bean
+    @Primary
+    StubPetDescriptionEnhancer stubPetDescriptionEnhancer() {
+      return new StubPetDescriptionEnhancer();
+    }
+
+    @Bean
+    InFlightRequestCounter inFlightRequestCounter() {
+      return new InFlightRequestCounter();
+    }
+
+    @Bean
+    BlockingRegistrationController blockingRegistrationController(
+        AppService appService, StubPetDescriptionEnhancer stubPetDescriptionEnhancer) {
+      return new BlockingRegistrationController(appService, stubPetDescriptionEnhancer);
+    }
+  }
+
+  /**
+   * Registers pets with their description enhanced on the request thread, standing in for an endpoint blocking on a remote service.
+   */
+  @RestController
+  @RequiredArgsConstructor
+  static class BlockingRegistrationController {
+
+    private final AppService appService;
+    private final StubPetDescriptionEnhancer enhancer;
+
+    @PostMapping(BLOCKING_REGISTRATION_PATH)
+    ResponseEntity<Void> createPet(@RequestBody PetCreationDto dto) {
+      String description = enhancer.enhanceDescription(PetType.valueOf(dto.type()), dto.breed(), dto.description());
+      appService.handlePetCreationDto(new PetCreationDto(
+          dto.name(), dto.type(), dto.breed(), dto.gender(), dto.birthDate(), description, dto.ownerId()));
+      return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+  }
+
+  /**
+   * Tracks the maximum number of requests being handled by the servlet container at the same time.
+   */
+  static class InFlightRequestCounter extends OncePerRequestFilter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger max = new AtomicInteger();
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain) throws ServletException, IOException {
+      max.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        filterChain.doFilter(request, response);
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    }
+
+    int max() {
+      return max.get();
+    }
+
+    void reset() {
+      max.set(0);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package no.acntech.hexapetclinic.test.infra.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import no.acntech.hexapetclinic.domain.factory.PetIdentifierAllocator;
+import no.acntech.hexapetclinic.domain.model.Visit;
+import no.acntech.hexapetclinic.domain.repository.OwnerRepository;
+import no.acntech.hexapetclinic.domain.service.RegistrationService;
+import no.acntech.hexapetclinic.domain.service.RegistrationService.VisitRegistration;
+import no.acntech.hexapetclinic.infra.Application;
+import no.acntech.hexapetclinic.test.infra.RegistrationFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Verifies that the export of all visits is streamed as newline-delimited JSON, one visit per line in id order, including visits just
+ * registered.
+ */
+@SpringBootTest(classes = Application.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local-h2")
+class VisitExportTest {
+
+  private static final Instant VISIT_TIME = Instant.parse("2024-01-15T10:00:00Z");
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private OwnerRepository ownerRepository;
+
+  @Autowired
+  private RegistrationService registrationService;
+
+  @Autowired
+  private PetIdentifierAllocator petIdentifierAllocator;
+
+  @Test
+  void streamAllVisits_shouldWriteOneVisitPerLineInIdOrder() throws Exception {
+    String identifier = RegistrationFixtures.registerPet(ownerRepository, petIdentifierAllocator, "Pixel").getPrimitive();
+    List<Visit> registered = registrationService.registerVisits(List.of(
+        new VisitRegistration(identifier, VISIT_TIME, "Check-up"),
+        new VisitRegistration(identifier, VISIT_TIME, "Vaccination")));
+
+    // The body is written once the request has gone async
+    MvcResult result = mockMvc.perform(get("/visits/stream"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString();
+
+    assertTrue(body.endsWith("\n"), "Every visit should end with a newline");
+    List<Long> ids = new ArrayList<>();
+    for (String line : body.split("\n")) {
+      JsonNode visit = objectMapper.readTree(line);
+      if (!ids.isEmpty()) {
+        assertTrue(visit.get("id").asLong() > ids.getLast(), "Visits should be streamed in id order");
+      }
+      ids.add(visit.get("id").asLong());
+    }
+    for (Visit visit : registered) {
+      assertTrue(ids.contains(visit.getId()), "Visit " + visit.getId() + " should be streamed");
+    }
+  }
+}